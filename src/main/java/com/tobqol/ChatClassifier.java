@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol;
+
+import com.google.common.collect.ImmutableMap;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.util.Text;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+
+/**
+ * Recognises every Theatre game message in one pass and posts it as a {@link TheatreChatMessage},
+ * which the room handlers on the bus subscribe to instead of matching chat themselves.
+ */
+@Singleton
+@Slf4j
+final class ChatClassifier
+{
+	private static final String WAVE_PREFIX = "Wave '";
+	private static final String WAVE_SUFFIX = ") complete!";
+
+	private static final Map<String, TheatreMessage> WAVES;
+	private static final Map<String, TheatreMessage> MESSAGES;
+
+	static
+	{
+		ImmutableMap.Builder<String, TheatreMessage> waves = ImmutableMap.builder();
+		ImmutableMap.Builder<String, TheatreMessage> messages = ImmutableMap.builder();
+
+		for (TheatreMessage message : TheatreMessage.values())
+		{
+			(message.isRoomComplete() ? waves : messages).put(message.text(), message);
+		}
+
+		WAVES = waves.build();
+		MESSAGES = messages.build();
+	}
+
+	private final EventBus eventBus;
+	private final InstanceService instance;
+
+	@Inject
+	ChatClassifier(EventBus eventBus, InstanceService instance)
+	{
+		this.eventBus = eventBus;
+		this.instance = instance;
+	}
+
+	void startUp()
+	{
+		eventBus.register(this);
+	}
+
+	void shutDown()
+	{
+		eventBus.unregister(this);
+	}
+
+	@Subscribe
+	private void onChatMessage(ChatMessage e)
+	{
+		if (e.getType() != ChatMessageType.GAMEMESSAGE || instance.getActivationTier().isOutside())
+		{
+			return;
+		}
+
+		String stripped = Text.removeTags(e.getMessage());
+		TheatreMessage type = classify(stripped);
+
+		if (type != null)
+		{
+			log.debug("Classified game message as {}", type);
+			eventBus.post(new TheatreChatMessage(type, stripped));
+		}
+	}
+
+	@Nullable
+	static TheatreMessage classify(String message)
+	{
+		TheatreMessage type = MESSAGES.get(message);
+
+		if (type != null)
+		{
+			return type;
+		}
+
+		// Wave 'The Maiden of Sugadinti' (Normal Mode) complete!Duration: ...
+		int start = message.indexOf(WAVE_PREFIX);
+
+		if (start == -1)
+		{
+			return null;
+		}
+
+		start += WAVE_PREFIX.length();
+		int end = message.indexOf('\'', start);
+
+		if (end == -1 || !message.startsWith(" (", end + 1) || message.indexOf(WAVE_SUFFIX, end) == -1)
+		{
+			return null;
+		}
+
+		return WAVES.get(message.substring(start, end));
+	}
+}
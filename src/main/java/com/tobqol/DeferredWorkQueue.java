@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds client thread work that doesn't have to happen on the tick it was triggered, such as building a
+ * finished room's infobox and chat summary, and runs it a little at a time before later frames.
+ * Nothing runs on the tick a task was submitted on, so the work stays off the frame that triggered it.
+ * Each drain stops once the frame budget is spent, the oldest due task always runs so the queue can't stall.
+ */
+@Singleton
+@Slf4j
+public final class DeferredWorkQueue
+{
+	private static final long FRAME_BUDGET_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+	private final Client client;
+	private final EventBus eventBus;
+	private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+
+	@Inject
+	DeferredWorkQueue(Client client, EventBus eventBus)
+	{
+		this.client = client;
+		this.eventBus = eventBus;
+	}
+
+	void startUp()
+	{
+		eventBus.register(this);
+	}
+
+	void shutDown()
+	{
+		eventBus.unregister(this);
+		tasks.clear();
+	}
+
+	/**
+	 * Queues a task for a frame after the current tick, must be called from the client thread.
+	 */
+	public void submit(Runnable task)
+	{
+		tasks.add(new Task(task, client.getTickCount()));
+	}
+
+	public boolean isEmpty()
+	{
+		return tasks.isEmpty();
+	}
+
+	@Subscribe
+	private void onBeforeRender(BeforeRender e)
+	{
+		if (tasks.isEmpty())
+		{
+			return;
+		}
+
+		int tick = client.getTickCount();
+		long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+
+		// Tasks are queued in tick order, so the first one from the current tick ends the drain
+		do
+		{
+			if (tasks.peek().tick == tick)
+			{
+				return;
+			}
+
+			Runnable task = tasks.poll().runnable;
+
+			try
+			{
+				task.run();
+			}
+			catch (RuntimeException ex)
+			{
+				log.warn("Deferred task failed", ex);
+			}
+		}
+		while (!tasks.isEmpty() && System.nanoTime() < deadline);
+	}
+
+	private static final class Task
+	{
+		private final Runnable runnable;
+		private final int tick;
+
+		private Task(Runnable runnable, int tick)
+		{
+			this.runnable = runnable;
+			this.tick = tick;
+		}
+	}
+}
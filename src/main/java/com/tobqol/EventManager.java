@@ -25,7 +25,7 @@
  */
 package com.tobqol;
 
-import com.google.common.base.Strings;
+import com.tobqol.api.game.ActivationTier;
 import com.tobqol.api.game.RaidConstants;
 import com.tobqol.api.game.Region;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +34,7 @@ import net.runelite.api.GameState;
 import net.runelite.api.Varbits;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.VarClientStrChanged;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
@@ -41,6 +42,8 @@ import net.runelite.client.util.Text;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 @Singleton
 @Slf4j
@@ -51,6 +54,9 @@ final class EventManager
 	private final TheatreQOLPlugin plugin;
 	private final InstanceService instance;
 
+	// Indexed by varbit id, only the varbits the plugin reacts to have a handler
+	private IntConsumer[] varbitHandlers = new IntConsumer[0];
+
 	@Inject
 	EventManager(Client client, EventBus eventBus, TheatreQOLPlugin plugin, InstanceService instance)
 	{
@@ -58,24 +64,122 @@ final class EventManager
 		this.eventBus = eventBus;
 		this.plugin = plugin;
 		this.instance = instance;
+
+		subscribeVarbit(Varbits.THEATRE_OF_BLOOD, value ->
+		{
+			instance.setPartyStatus(value);
+			updateActivationTier();
+		});
+		subscribeVarbit(RaidConstants.THEATRE_OF_BLOOD_ROOM_STATUS, instance::setRoomStatus);
+		subscribeVarbit(RaidConstants.THEATRE_OF_BLOOD_BOSS_HP, instance::setBossHealth);
+		subscribeVarbit(RaidConstants.PRECISE_TIMER, value -> instance.setPreciseTimers(value == 1));
+
+		for (int slot = 0; slot < RaidConstants.THEATRE_OF_BLOOD_PARTY_SLOTS; slot++)
+		{
+			final int orbSlot = slot;
+			subscribeVarbit(Varbits.THEATRE_OF_BLOOD_ORB1 + slot, value -> instance.setSlotOrb(orbSlot, value));
+		}
+	}
+
+	private void subscribeVarbit(int varbitId, IntConsumer handler)
+	{
+		if (varbitId >= varbitHandlers.length)
+		{
+			varbitHandlers = Arrays.copyOf(varbitHandlers, varbitId + 1);
+		}
+
+		varbitHandlers[varbitId] = handler;
+	}
+
+	/**
+	 * Reads the raid varbits once, used when the plugin starts part way through a raid before any of them change.
+	 */
+	private void syncVarbits()
+	{
+		instance.setPartyStatus(client.getVarbitValue(Varbits.THEATRE_OF_BLOOD));
+		instance.setRoomStatus(client.getVarbitValue(RaidConstants.THEATRE_OF_BLOOD_ROOM_STATUS));
+		instance.setBossHealth(client.getVarbitValue(RaidConstants.THEATRE_OF_BLOOD_BOSS_HP));
+		instance.setPreciseTimers(client.getVarbitValue(RaidConstants.PRECISE_TIMER) == 1);
 	}
 
 	void startUp()
 	{
 		instance.reset();
 		eventBus.register(this);
+		instance.updateLocation();
+
+		if (client.getGameState() == GameState.LOGGED_IN)
+		{
+			syncVarbits();
+		}
+
+		updateActivationTier();
 	}
 
 	void shutDown()
 	{
 		eventBus.unregister(this);
 		instance.reset();
+		setActivationTier(ActivationTier.OUTSIDE);
+	}
+
+	private void updateActivationTier()
+	{
+		if (instance.isInRaid() || !instance.getCurrentRegion().isUnknown())
+		{
+			setActivationTier(ActivationTier.RAID);
+		}
+		else if (instance.getLocation().isInVerSinhaza())
+		{
+			setActivationTier(ActivationTier.VER_SINHAZA);
+		}
+		else
+		{
+			setActivationTier(ActivationTier.OUTSIDE);
+		}
+	}
+
+	private void setActivationTier(ActivationTier tier)
+	{
+		ActivationTier previous = instance.getActivationTier();
+
+		if (previous == tier)
+		{
+			return;
+		}
+
+		log.debug("Changing activation tier. Previous: {}, New: {}", previous, tier);
+		instance.setActivationTier(tier);
+
+		if (tier.isRaid())
+		{
+			syncRoster();
+		}
+
+		plugin.onActivationTierChanged(previous, tier);
+	}
+
+	/**
+	 * Reads every party slot once, change events keep the slots current from then on.
+	 */
+	private void syncRoster()
+	{
+		for (int slot = 0; slot < RaidConstants.THEATRE_OF_BLOOD_PARTY_SLOTS; slot++)
+		{
+			instance.setSlotName(slot, Text.standardize(client.getVarcStrValue(RaidConstants.THEATRE_OF_BLOOD_PARTY_VARC + slot)));
+			instance.setSlotOrb(slot, client.getVarbitValue(Varbits.THEATRE_OF_BLOOD_ORB1 + slot));
+		}
 	}
 
 	private void reset(boolean global)
 	{
 		plugin.reset(global);
 		instance.reset();
+
+		if (instance.getActivationTier().isRaid())
+		{
+			syncRoster();
+		}
 	}
 
 	@Subscribe(priority = 7)
@@ -88,75 +192,70 @@ final class EventManager
 			if (gs.equals(GameState.LOGIN_SCREEN))
 			{
 				reset(true);
+				setActivationTier(ActivationTier.OUTSIDE);
 				return;
 			}
 
-			boolean inside = false;
+			instance.updateLocation();
+
+			Region r = instance.getLocation().getRegion();
+			boolean inside = !r.isLobby() && !r.isUnknown();
 
-			for (Region r : Region.values())
+			if (inside)
 			{
-				if (r.isLobby() || r.isUnknown())
-				{
-					continue;
-				}
-
-				if (Region.inRegion(client, r))
-				{
-					inside = true;
-					instance.setRegion(r);
-					break;
-				}
+				instance.setRegion(r);
 			}
 
 			if (!inside)
 			{
 				reset(false);
 			}
+
+			updateActivationTier();
 		}
 	}
 
 	@Subscribe(priority = 7)
-	private void onVarbitChanged(VarbitChanged e)
+	private void onVarClientStrChanged(VarClientStrChanged e)
 	{
-		if (client.getLocalPlayer() == null)
+		int slot = e.getIndex() - RaidConstants.THEATRE_OF_BLOOD_PARTY_VARC;
+
+		if (slot < 0 || slot >= RaidConstants.THEATRE_OF_BLOOD_PARTY_SLOTS)
 		{
 			return;
 		}
 
-		instance.setPartyStatus(client.getVarbitValue(Varbits.THEATRE_OF_BLOOD));
-		instance.setRoomStatus(client.getVarbitValue(RaidConstants.THEATRE_OF_BLOOD_ROOM_STATUS));
-		instance.setBossHealth(client.getVarbitValue(RaidConstants.THEATRE_OF_BLOOD_BOSS_HP));
-		instance.setPreciseTimers(client.getVarbitValue(RaidConstants.PRECISE_TIMER) == 1);
+		instance.setSlotName(slot, Text.standardize(client.getVarcStrValue(e.getIndex())));
 	}
 
 	@Subscribe(priority = 7)
-	private void onGameTick(GameTick e)
+	private void onVarbitChanged(VarbitChanged e)
 	{
-		if (instance.outside())
+		int varbitId = e.getVarbitId();
+
+		if (varbitId < 0 || varbitId >= varbitHandlers.length || varbitHandlers[varbitId] == null)
 		{
 			return;
 		}
 
-		for (int varcStrId = 330; varcStrId <= 334; varcStrId++)
-		{
-			String username = Text.standardize(client.getVarcStrValue(varcStrId));
+		varbitHandlers[varbitId].accept(e.getValue());
+	}
 
-			if (Strings.isNullOrEmpty(username))
-			{
-				continue;
-			}
+	@Subscribe(priority = 7)
+	private void onGameTick(GameTick e)
+	{
+		int regionId = instance.getLocation().getRegionId();
+		instance.updateLocation();
 
-			switch (client.getVarbitValue(Varbits.THEATRE_OF_BLOOD_ORB1 + (varcStrId % 5)))
-			{
-				case 0: break;
-				case 1:
-					instance.addRaider(username);
-					instance.addDeadRaider(username);
-					break;
-				default:
-					instance.addRaider(username);
-					break;
-			}
+		// Walking in or out of Ver Sinhaza doesn't always load a scene
+		if (instance.getLocation().getRegionId() != regionId)
+		{
+			updateActivationTier();
+		}
+
+		if (instance.outside())
+		{
+			return;
 		}
 
 		instance.tick();
@@ -25,20 +25,24 @@
  */
 package com.tobqol;
 
+import com.tobqol.api.game.ActivationTier;
 import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.PlayerLocation;
+import com.tobqol.api.game.RaidConstants;
 import com.tobqol.api.game.Region;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Player;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Supplier;
 
 @Slf4j
@@ -62,8 +66,26 @@ public final class InstanceService implements Instance
 	private Mode mode = null;
 	private Region region = Region.UNKNOWN;
 
-	private final Set<String> raiders = new HashSet<>();
-	private final Set<String> deadRaiders = new HashSet<>();
+	// Not cleared by reset(), EventManager resolves it again after every reset
+	private ActivationTier activationTier = ActivationTier.OUTSIDE;
+
+	// Rooms compare against this to find out they were reset, see RoomHandler#sync
+	private int raidEpoch = 0;
+	private boolean raidEpochUsed = false;
+
+	// Refreshed by EventManager once per tick, everything else reads this instead of asking the client again
+	private PlayerLocation location = PlayerLocation.UNKNOWN;
+
+	// Five party slots mirrored from the orb varbits and party varc strings, kept up to date by EventManager
+	private final String[] slotNames = new String[RaidConstants.THEATRE_OF_BLOOD_PARTY_SLOTS];
+	private final int[] slotOrbs = new int[RaidConstants.THEATRE_OF_BLOOD_PARTY_SLOTS];
+
+	// A slot counts towards the party once it has been seen occupied and towards the deaths once its orb reads dead,
+	// matching the name sets this replaced which were only cleared on reset and between rooms
+	private final boolean[] slotJoined = new boolean[RaidConstants.THEATRE_OF_BLOOD_PARTY_SLOTS];
+	private final boolean[] slotDead = new boolean[RaidConstants.THEATRE_OF_BLOOD_PARTY_SLOTS];
+	private int partySize = 0;
+	private int deathSize = 0;
 
 	private boolean regionUpdated = false;
 	private int tickCycle = -1;
@@ -85,8 +107,12 @@ public final class InstanceService implements Instance
 		mode = null;
 		regionUpdated = false;
 		tickCycle = -1;
-		deadRaiders.clear();
-		raiders.clear();
+		Arrays.fill(slotNames, null);
+		Arrays.fill(slotOrbs, 0);
+		Arrays.fill(slotJoined, false);
+		Arrays.fill(slotDead, false);
+		partySize = 0;
+		deathSize = 0;
 		bossHealth = -1;
 	}
 
@@ -158,7 +184,13 @@ public final class InstanceService implements Instance
 
 		if (value == 0)
 		{
-			deadRaiders.clear();
+			deathSize = 0;
+
+			for (int slot = 0; slot < slotDead.length; slot++)
+			{
+				slotDead[slot] = false;
+				updateSlot(slot);
+			}
 		}
 	}
 
@@ -177,24 +209,99 @@ public final class InstanceService implements Instance
 		this.region = region;
 	}
 
-	void addRaider(String name)
+	/**
+	 * Marks the current epoch as holding room state, the next reset will move past it.
+	 */
+	void useRaidEpoch()
 	{
-		if (raiders.contains(name))
+		raidEpochUsed = true;
+	}
+
+	/**
+	 * Invalidates all room state in one step, a no-op when nothing has run against the current epoch since the last call.
+	 */
+	void nextRaidEpoch()
+	{
+		if (!raidEpochUsed)
 		{
 			return;
 		}
 
-		raiders.add(name);
+		raidEpoch++;
+		raidEpochUsed = false;
 	}
 
-	void addDeadRaider(String name)
+	void updateLocation()
 	{
-		if (deadRaiders.contains(name))
+		Player player = client.getLocalPlayer();
+		LocalPoint local = player == null ? null : player.getLocalLocation();
+		WorldPoint worldPoint = local == null ? null : WorldPoint.fromLocalInstance(client, local);
+		boolean instanced = client.isInInstancedRegion();
+
+		if (Objects.equals(location.getWorldPoint(), worldPoint) && location.isInstanced() == instanced)
 		{
 			return;
 		}
 
-		deadRaiders.add(name);
+		location = PlayerLocation.of(worldPoint, instanced);
+	}
+
+	void setActivationTier(ActivationTier activationTier)
+	{
+		this.activationTier = activationTier;
+	}
+
+	/**
+	 * @param name the standardized name from the party varc string, interned so unchanged names compare by reference
+	 */
+	void setSlotName(int slot, @Nullable String name)
+	{
+		if (slot < 0 || slot >= slotNames.length)
+		{
+			return;
+		}
+
+		String interned = name == null || name.isEmpty() ? null : name.intern();
+
+		if (slotNames[slot] == interned)
+		{
+			return;
+		}
+
+		slotNames[slot] = interned;
+		updateSlot(slot);
+	}
+
+	void setSlotOrb(int slot, int orb)
+	{
+		if (slot < 0 || slot >= slotOrbs.length || slotOrbs[slot] == orb)
+		{
+			return;
+		}
+
+		slotOrbs[slot] = orb;
+		updateSlot(slot);
+	}
+
+	// Orb values: 0 = empty slot, 1 = dead, anything else = alive
+	private void updateSlot(int slot)
+	{
+		if (slotNames[slot] == null || slotOrbs[slot] == 0)
+		{
+			return;
+		}
+
+		if (!slotJoined[slot])
+		{
+			slotJoined[slot] = true;
+			partySize++;
+		}
+
+		if (slotOrbs[slot] == 1 && !slotDead[slot])
+		{
+			slotDead[slot] = true;
+			deathSize++;
+		}
 	}
 
 	@Override
@@ -253,6 +360,24 @@ public final class InstanceService implements Instance
 		return region;
 	}
 
+	@Override
+	public int getRaidEpoch()
+	{
+		return raidEpoch;
+	}
+
+	@Override
+	public PlayerLocation getLocation()
+	{
+		return location;
+	}
+
+	@Override
+	public ActivationTier getActivationTier()
+	{
+		return activationTier;
+	}
+
 	@Override
 	public int getRaidStatus()
 	{
@@ -274,13 +399,13 @@ public final class InstanceService implements Instance
 	@Override
 	public int getPartySize()
 	{
-		return raiders.size();
+		return partySize;
 	}
 
 	@Override
 	public int getDeathSize()
 	{
-		return deadRaiders.size();
+		return deathSize;
 	}
 
 	@Override
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol;
+
+import com.tobqol.api.game.Region;
+import com.tobqol.config.ConfigSnapshot;
+import com.tobqol.rooms.maiden.commons.MaidenConstants;
+import com.tobqol.rooms.verzik.commons.VerzikMap;
+import com.tobqol.rooms.xarpus.commons.XarpusConstants;
+import net.runelite.api.Actor;
+import net.runelite.api.NPC;
+import net.runelite.api.Projectile;
+import net.runelite.api.Renderable;
+import net.runelite.api.events.AreaSoundEffectPlayed;
+import net.runelite.api.events.GraphicChanged;
+import net.runelite.api.events.GraphicsObjectCreated;
+import net.runelite.client.callback.Hooks;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.BitSet;
+
+import static com.tobqol.rooms.nylocas.commons.NylocasConstants.*;
+
+/**
+ * Strips cosmetic graphics, projectiles, spot animations and sounds from the current room when its low detail
+ * option is on, Verzik's sounds follow their own mute option instead. The ids are compiled once into a bit set per
+ * room and category, so every check is a single lookup. Subscribers run after the room handlers, which still see
+ * everything they track before it is removed. NPCs a room has recorded as dead, such as killed nylocas or dying
+ * Maiden crabs, are not drawn for the rest of their death animation.
+ */
+@Singleton
+final class LowDetailRules
+{
+	private enum Category
+	{
+		GRAPHICS_OBJECT,
+		PROJECTILE,
+		SPOT_ANIM,
+		SOUND
+	}
+
+	private static final BitSet[][] RULES = new BitSet[Region.values().length][Category.values().length];
+
+	static
+	{
+		// Only the blood in flight, the splats it leaves are what players dodge
+		rule(Region.MAIDEN, Category.PROJECTILE, MaidenConstants.BLOOD_TOSS_PROJ);
+
+		rule(Region.NYLOCAS, Category.GRAPHICS_OBJECT,
+				UNK_DESPAWN_GRAPHIC_1, MELEE_SMALL_DESPAWN_GRAPHIC, RANGE_SMALL_DESPAWN_GRAPHIC, MAGIC_SMALL_DESPAWN_GRAPHIC,
+				UNK_DESPAWN_GRAPHIC_2, UNK_DESPAWN_GRAPHIC_3, UNK_DESPAWN_GRAPHIC_4, UNK_DESPAWN_GRAPHIC_5);
+
+		rule(Region.XARPUS, Category.PROJECTILE, XarpusConstants.SPIT_PROJ, XarpusConstants.EXHUMED_HEAL_PROJ);
+
+		rule(Region.VERZIK, Category.PROJECTILE, VerzikMap.WEB_PROJ);
+		rule(Region.VERZIK, Category.SPOT_ANIM, VerzikMap.YELLOW_GRAPHIC);
+		// Gated by Mute Verzik Sounds rather than Low Detail
+		rule(Region.VERZIK, Category.SOUND, VerzikMap.AREA_SOUND_1, VerzikMap.AREA_SOUND_2);
+	}
+
+	private final Hooks hooks;
+	private final EventBus eventBus;
+	private final TheatreQOLPlugin plugin;
+	private final InstanceService instance;
+	private final RoomDispatcher roomDispatcher;
+
+	private final Hooks.RenderableDrawListener drawListener = this::shouldDraw;
+
+	@Inject
+	LowDetailRules(Hooks hooks, EventBus eventBus, TheatreQOLPlugin plugin, InstanceService instance, RoomDispatcher roomDispatcher)
+	{
+		this.hooks = hooks;
+		this.eventBus = eventBus;
+		this.plugin = plugin;
+		this.instance = instance;
+		this.roomDispatcher = roomDispatcher;
+	}
+
+	void startUp()
+	{
+		eventBus.register(this);
+		hooks.registerRenderableDrawListener(drawListener);
+	}
+
+	void shutDown()
+	{
+		hooks.unregisterRenderableDrawListener(drawListener);
+		eventBus.unregister(this);
+	}
+
+	@Subscribe(priority = -1)
+	private void onGraphicsObjectCreated(GraphicsObjectCreated e)
+	{
+		BitSet ids = active(Category.GRAPHICS_OBJECT);
+
+		if (ids != null && ids.get(e.getGraphicsObject().getId()))
+		{
+			e.getGraphicsObject().setFinished(true);
+		}
+	}
+
+	@Subscribe(priority = -1)
+	private void onGraphicChanged(GraphicChanged e)
+	{
+		BitSet ids = active(Category.SPOT_ANIM);
+
+		if (ids == null)
+		{
+			return;
+		}
+
+		Actor actor = e.getActor();
+
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1))
+		{
+			if (actor.hasSpotAnim(id))
+			{
+				actor.removeSpotAnim(id);
+			}
+		}
+	}
+
+	@Subscribe(priority = -1)
+	private void onAreaSoundEffectPlayed(AreaSoundEffectPlayed e)
+	{
+		BitSet ids = active(Category.SOUND);
+
+		if (ids != null && ids.get(e.getSoundId()))
+		{
+			e.consume();
+		}
+	}
+
+	// Projectiles can't be removed from the scene, so they are skipped when drawn instead
+	private boolean shouldDraw(Renderable renderable, boolean drawingUI)
+	{
+		if (renderable instanceof NPC)
+		{
+			return !roomDispatcher.isCulled((NPC) renderable);
+		}
+
+		if (!(renderable instanceof Projectile))
+		{
+			return true;
+		}
+
+		BitSet ids = active(Category.PROJECTILE);
+		return ids == null || !ids.get(((Projectile) renderable).getId());
+	}
+
+	@Nullable
+	private BitSet active(Category category)
+	{
+		Region region = instance.getCurrentRegion();
+		return enabled(region, category, plugin.getConfigSnapshot()) ? RULES[region.ordinal()][category.ordinal()] : null;
+	}
+
+	private static boolean enabled(Region region, Category category, ConfigSnapshot config)
+	{
+		switch (region)
+		{
+			case MAIDEN:
+				return config.maidenLowDetail();
+			case NYLOCAS:
+				return config.nyloLowDetail();
+			case XARPUS:
+				return config.xarpusLowDetail();
+			case VERZIK:
+				return category == Category.SOUND ? config.muteVerzikSounds() : config.verzikLowDetail();
+			default:
+				return false;
+		}
+	}
+
+	private static void rule(Region region, Category category, int... ids)
+	{
+		BitSet set = RULES[region.ordinal()][category.ordinal()];
+
+		if (set == null)
+		{
+			set = RULES[region.ordinal()][category.ordinal()] = new BitSet();
+		}
+
+		for (int id : ids)
+		{
+			set.set(id);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol;
+
+import com.tobqol.api.game.PlayerLocation;
+import com.tobqol.api.game.RaidConstants;
+import com.tobqol.config.ConfigSnapshot;
+import com.tobqol.config.SupplyChestPreference;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.events.MenuEntryAdded;
+import net.runelite.api.events.PostMenuSort;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.util.Text;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Set;
+
+/**
+ * Applies the plugin's menu swaps as entries are added, rather than rebuilding the whole menu every client tick.
+ * Bank-all is forced to left click in Ver Sinhaza and the loot room, and supply chest items trade their "Value"
+ * option for the configured buy option. The sorted menu is only read and written back when a chest swap is due.
+ */
+@Singleton
+@Slf4j
+final class MenuRules
+{
+	private static final String BANK_ALL = "Bank-all";
+	private static final String VALUE = "Value";
+
+	private static final Set<String> CHEST_TARGETS = RaidConstants.TOB_CHEST_TARGETS;
+
+	private final Client client;
+	private final EventBus eventBus;
+	private final TheatreQOLPlugin plugin;
+	private final InstanceService instance;
+
+	// Set when a supply chest "Value" entry was added since the last sort
+	private boolean swapPending = false;
+
+	@Inject
+	MenuRules(Client client, EventBus eventBus, TheatreQOLPlugin plugin, InstanceService instance)
+	{
+		this.client = client;
+		this.eventBus = eventBus;
+		this.plugin = plugin;
+		this.instance = instance;
+	}
+
+	void startUp()
+	{
+		eventBus.register(this);
+	}
+
+	void shutDown()
+	{
+		eventBus.unregister(this);
+		swapPending = false;
+	}
+
+	@Subscribe
+	private void onMenuEntryAdded(MenuEntryAdded e)
+	{
+		if (instance.getActivationTier().isOutside())
+		{
+			return;
+		}
+
+		ConfigSnapshot config = plugin.getConfigSnapshot();
+		String option = stripTags(e.getOption());
+
+		if (config.bankAllMES() && option.equals(BANK_ALL))
+		{
+			PlayerLocation location = instance.getLocation();
+
+			if (location.isInVerSinhaza() || location.isInLootRoom())
+			{
+				e.getMenuEntry().setForceLeftClick(true);
+			}
+
+			return;
+		}
+
+		if (config.supplyChestMES() != SupplyChestPreference.OFF && option.equals(VALUE) && CHEST_TARGETS.contains(stripTags(e.getTarget())))
+		{
+			swapPending = true;
+		}
+	}
+
+	@Subscribe
+	private void onPostMenuSort(PostMenuSort e)
+	{
+		if (!swapPending)
+		{
+			return;
+		}
+
+		swapPending = false;
+
+		SupplyChestPreference preference = plugin.getConfigSnapshot().supplyChestMES();
+
+		if (preference == SupplyChestPreference.OFF || client.isMenuOpen())
+		{
+			return;
+		}
+
+		MenuEntry[] entries = client.getMenuEntries();
+		String preferred = preference.toString();
+		boolean swapped = false;
+
+		// Entries are bottom to top, so the walk meets each "Value" before the options beneath it
+		for (int i = entries.length - 1; i > 0; i--)
+		{
+			MenuEntry value = entries[i];
+
+			if (!stripTags(value.getOption()).equals(VALUE))
+			{
+				continue;
+			}
+
+			String target = stripTags(value.getTarget());
+
+			if (!CHEST_TARGETS.contains(target))
+			{
+				continue;
+			}
+
+			for (int j = i - 1; j >= 0; j--)
+			{
+				MenuEntry entry = entries[j];
+
+				if (stripTags(entry.getOption()).equals(preferred) && stripTags(entry.getTarget()).equals(target))
+				{
+					entries[i] = entry;
+					entries[j] = value;
+					swapped = true;
+					break;
+				}
+			}
+		}
+
+		if (swapped)
+		{
+			client.setMenuEntries(entries);
+		}
+	}
+
+	// Plain options and targets come back as they are, only tagged ones pay for a copy
+	private static String stripTags(String text)
+	{
+		if (text == null)
+		{
+			return "";
+		}
+
+		return text.indexOf('<') == -1 ? text : Text.removeTags(text);
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol;
+
+import com.tobqol.api.game.Region;
+import com.tobqol.rooms.RoomHandler;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.NPC;
+import net.runelite.api.WorldView;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Keeps only the room handler for the current region on the event bus, so room events are not fanned out to every handler.
+ */
+@Singleton
+@Slf4j
+final class RoomDispatcher
+{
+	private final Client client;
+	private final EventBus eventBus;
+	private final InstanceService instance;
+
+	private RoomHandler[] rooms = new RoomHandler[0];
+	private boolean[] registered = new boolean[0];
+	private int registeredCount = 0;
+
+	@Inject
+	RoomDispatcher(Client client, EventBus eventBus, InstanceService instance)
+	{
+		this.client = client;
+		this.eventBus = eventBus;
+		this.instance = instance;
+	}
+
+	void startUp()
+	{
+		eventBus.register(this);
+	}
+
+	void shutDown()
+	{
+		eventBus.unregister(this);
+		setRooms(new RoomHandler[0]);
+	}
+
+	void setRooms(RoomHandler[] rooms)
+	{
+		if (this.rooms == rooms)
+		{
+			return;
+		}
+
+		for (int i = 0; i < this.rooms.length; i++)
+		{
+			setRegistered(i, false);
+		}
+
+		this.rooms = rooms;
+		this.registered = new boolean[rooms.length];
+		this.registeredCount = 0;
+		route(instance.getCurrentRegion());
+	}
+
+	// Runs after EventManager has resolved the region for the new scene
+	@Subscribe(priority = 6)
+	private void onGameStateChanged(GameStateChanged e)
+	{
+		switch (e.getGameState())
+		{
+			case LOADING:
+			{
+				// The outgoing scene's NPCs are still known here, anything a room holds beyond them missed its despawn
+				WorldView worldView = client.getTopLevelWorldView();
+
+				if (worldView != null)
+				{
+					for (RoomHandler room : rooms)
+					{
+						room.evictStaleNpcs(worldView.npcs());
+					}
+				}
+
+				// Nothing outside the raid or Ver Sinhaza can load into a room
+				if (instance.getActivationTier().isOutside())
+				{
+					break;
+				}
+
+				// Spawns for the incoming scene are posted before its region is known, so every room listens until it is
+				for (int i = 0; i < rooms.length; i++)
+				{
+					setRegistered(i, true);
+				}
+				break;
+			}
+			case LOGGED_IN:
+			case LOGIN_SCREEN:
+			{
+				route(instance.getCurrentRegion());
+				break;
+			}
+		}
+	}
+
+	@Subscribe(priority = 6)
+	private void onGameTick(GameTick e)
+	{
+		// Rooms on the bus may have picked up state this tick, which the next reset has to invalidate
+		if (registeredCount > 0)
+		{
+			instance.useRaidEpoch();
+		}
+	}
+
+	// Runs after the rooms have handled the despawn themselves, rooms off the bus are evicted from as well
+	@Subscribe(priority = -1)
+	private void onNpcDespawned(NpcDespawned e)
+	{
+		for (RoomHandler room : rooms)
+		{
+			room.evictNpc(e.getNpc());
+		}
+	}
+
+	@Subscribe
+	private void onConfigChanged(ConfigChanged e)
+	{
+		// Registered rooms receive this from the event bus themselves
+		for (int i = 0; i < rooms.length; i++)
+		{
+			if (!registered[i])
+			{
+				rooms[i].onConfigChanged(e);
+			}
+		}
+	}
+
+	/**
+	 * Brings every room up to the raid epoch, including rooms off the bus whose infoboxes would otherwise outlive the raid.
+	 * Rooms already on the current epoch are skipped, so repeat calls after a reset cost nothing.
+	 */
+	void syncRooms()
+	{
+		for (RoomHandler room : rooms)
+		{
+			if (room.sync())
+			{
+				log.debug("Resetting {}", room.getClass().getSimpleName());
+			}
+		}
+	}
+
+	/**
+	 * Whether a room on the bus considers the NPC dead, asked for every NPC drawn.
+	 */
+	boolean isCulled(NPC npc)
+	{
+		for (int i = 0; i < rooms.length; i++)
+		{
+			if (registered[i] && rooms[i].isCulled(npc))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void route(Region region)
+	{
+		for (int i = 0; i < rooms.length; i++)
+		{
+			setRegistered(i, rooms[i].isRoomRegion(region));
+		}
+	}
+
+	private void setRegistered(int index, boolean register)
+	{
+		if (registered[index] == register)
+		{
+			return;
+		}
+
+		RoomHandler room = rooms[index];
+
+		if (register)
+		{
+			if (room.sync())
+			{
+				log.debug("Resetting {}", room.getClass().getSimpleName());
+			}
+
+			eventBus.register(room);
+			instance.useRaidEpoch();
+		}
+		else
+		{
+			eventBus.unregister(room);
+		}
+
+		registered[index] = register;
+		registeredCount += register ? 1 : -1;
+		log.debug("{} {}", register ? "Routing events to" : "Detaching", room.getClass().getSimpleName());
+	}
+}
@@ -329,6 +329,19 @@ public interface TheatreQOLConfig extends Config
 		return false;
 	}
 
+	@ConfigItem(
+			name = "Low Detail",
+			keyName = "maidenLowDetail",
+			description = "- Hides the blood Maiden throws while it is in the air and crabs once they start dying<br>" +
+					"* The blood splats still appear where it lands",
+			position = 7,
+			section = MAIDEN_SECTION
+	)
+	default boolean maidenLowDetail()
+	{
+		return false;
+	}
+
 	/**
 	 * Bloat Configs
 	 */
@@ -336,7 +349,7 @@ public interface TheatreQOLConfig extends Config
 			name = "Hide Ceiling Chains",
 			keyName = "hideCeilingChains",
 			description = "- Hides the chains hanging from the ceiling in the Bloat room<br>" +
-							"* Disabling this feature whilst in Bloat will cause a stutter to refresh the scene",
+							"* Disabling this feature whilst in Bloat shows copies of the chains that can't be interacted with until the next scene load",
 			position = 1,
 			section = BLOAT_SECTION
 	)
@@ -377,7 +390,7 @@ public interface TheatreQOLConfig extends Config
 			name = "Hide Objects",
 			keyName = "nyloHideObjects",
 			description = "- Hide the Nylocas Pillars, Spectator Webs, and/or Walls if desired (none provide clickboxes when present)<br>" +
-							"* Disabling this feature whilst in the Nylocas room will cause a stutter to refresh the scene",
+							"* Disabling this feature whilst in the Nylocas room shows copies of the objects that can't be interacted with until the next scene load",
 			position = 2,
 			section = NYLO_SECTION
 	)
@@ -509,7 +522,7 @@ public interface TheatreQOLConfig extends Config
 	@ConfigItem(
 			name = "Low Detail",
 			keyName = "nyloLowDetail",
-			description = "- Removes the Graphics Objects that spawn when a Nylo dies<br>" +
+			description = "- Removes the Graphics Objects that spawn when a Nylo dies and stops drawing Nylos once they are dead<br>" +
 						"* Entity hider removes them from being displayed, but still allows them to spawn and linger",
 			position = 8,
 			section = NYLO_SECTION
@@ -615,7 +628,8 @@ public interface TheatreQOLConfig extends Config
 	@ConfigItem(
 			name = "Hide Underworld Rocks",
 			keyName = "sotetsegHideUnderworldRocks",
-			description = "- Hides the rocks surrounding the Sotetseg maze",
+			description = "- Hides the rocks surrounding the Sotetseg maze<br>" +
+							"* Disabling this feature whilst in the maze shows copies of the rocks that can't be interacted with until the next scene load",
 			position = 8,
 			section = SOTETSEG_SECTION
 	)
@@ -716,6 +730,19 @@ public interface TheatreQOLConfig extends Config
 		return 65;
 	}
 
+	@ConfigItem(
+			name = "Low Detail",
+			keyName = "xarpusLowDetail",
+			description = "- Hides Xarpus' spit while it is in the air and the Exhumeds' healing projectiles<br>" +
+					"* The poison pools still appear where the spit lands",
+			position = 5,
+			section = XARPUS_SECTION
+	)
+	default boolean xarpusLowDetail()
+	{
+		return false;
+	}
+
 	/**
 	 * Verzik Configs
 	 */
@@ -794,6 +821,19 @@ public interface TheatreQOLConfig extends Config
 		return 65;
 	}
 
+	@ConfigItem(
+			name = "Low Detail",
+			keyName = "verzikLowDetail",
+			description = "- Hides the web projectiles, the splash on players who soak a yellow and dead Nylocas Matomenos<br>" +
+					"* Yellow pools, green balls and the webs themselves are left alone",
+			position = 7,
+			section = VERZIK_SECTION
+	)
+	default boolean verzikLowDetail()
+	{
+		return false;
+	}
+
 	/**
 	 * Font Configs
 	 */
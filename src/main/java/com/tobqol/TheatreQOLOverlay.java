@@ -60,13 +60,13 @@ public class TheatreQOLOverlay extends Overlay
         graphics.setFont(plugin.getPluginFont());
 
         // Display Chest Loot Reminder
-        if (config.lootReminder() && plugin.isInVerSinhaza() && plugin.getLootChest() != null && plugin.isChestHasLoot())
+        if (plugin.getConfigSnapshot().lootReminder() && plugin.isInVerSinhaza() && plugin.getLootChest() != null && plugin.isChestHasLoot())
         {
             Shape poly = plugin.getLootChest().getConvexHull();
 
             if (poly != null)
             {
-                OverlayUtil.renderPolygon(graphics, poly, config.lootReminderColor());
+                OverlayUtil.renderPolygon(graphics, poly, plugin.getConfigSnapshot().lootReminderColor());
             }
 
             String text = "You have loot in your chest.";
@@ -74,12 +74,12 @@ public class TheatreQOLOverlay extends Overlay
 
             if (textLocation != null)
             {
-                renderTextLocation(graphics, new Point(textLocation.getX(), textLocation.getY()), text, config.lootReminderColor());
+                renderTextLocation(graphics, new Point(textLocation.getX(), textLocation.getY()), text, plugin.getConfigSnapshot().lootReminderColor());
             }
         }
 
         // Display Salve Reminder
-        if (config.salveReminder() && plugin.isInVerSinhaza() && !plugin.hasSalve())
+        if (plugin.getConfigSnapshot().salveReminder() && plugin.isInVerSinhaza() && !plugin.hasSalve())
         {
             String text = "You have forgotten your salve.";
             Point textLocation = plugin.getEntrance().getCanvasTextLocation(graphics, text, 60);
@@ -91,7 +91,7 @@ public class TheatreQOLOverlay extends Overlay
         }
 
         // Display Current Spellbook
-        if (config.spellbookReminder() && plugin.isInVerSinhaza())
+        if (plugin.getConfigSnapshot().spellbookReminder() && plugin.isInVerSinhaza())
         {
             String text = "Current Spellbook: " + plugin.getSpellbook().toUpperCase();
             Point textLocation = plugin.getEntrance().getCanvasTextLocation(graphics, text, 120);
@@ -103,14 +103,14 @@ public class TheatreQOLOverlay extends Overlay
         }
 
         // Display Ammo Reminder
-        if (config.ammoReminder() && plugin.isInVerSinhaza() && !plugin.hasAmmo())
+        if (plugin.getConfigSnapshot().ammoReminder() && plugin.isInVerSinhaza() && !plugin.hasAmmo())
         {
             String text = "You have forgotten to equip ammo.";
             Point textLocation = plugin.getEntrance().getCanvasTextLocation(graphics, text, 180);
 
             if (textLocation != null)
             {
-                renderTextLocation(graphics, new Point(textLocation.getX(), textLocation.getY()), text, config.ammoReminderColor());
+                renderTextLocation(graphics, new Point(textLocation.getX(), textLocation.getY()), text, plugin.getConfigSnapshot().ammoReminderColor());
             }
         }
 
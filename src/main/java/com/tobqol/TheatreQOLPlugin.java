@@ -29,15 +29,19 @@
 package com.tobqol;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import com.google.inject.Binder;
 import com.google.inject.Provides;
+import com.tobqol.api.game.ActivationTier;
 import com.tobqol.api.game.Instance;
 import com.tobqol.api.game.RaidConstants;
 import com.tobqol.api.game.Region;
-import com.tobqol.config.SupplyChestPreference;
+import com.tobqol.api.game.SceneManager;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
+import com.tobqol.config.ConfigSnapshot;
+import com.tobqol.config.font.FontRegistry;
 import com.tobqol.rooms.RemovableOverlay;
 import com.tobqol.rooms.RoomHandler;
 import com.tobqol.rooms.bloat.BloatHandler;
@@ -50,28 +54,22 @@ import com.tobqol.tracking.RoomDataHandler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
-import net.runelite.api.coords.LocalPoint;
-import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.*;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.config.ConfigManager;
-import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
-import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
-import net.runelite.client.util.Text;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import java.awt.*;
-import java.util.List;
 import java.util.Objects;
 
 @PluginDescriptor(
@@ -87,15 +85,34 @@ public class TheatreQOLPlugin extends Plugin
 	@Inject
 	private Client client;
 
-	@Inject
-	private EventBus eventBus;
-
 	@Inject
 	public OverlayManager overlayManager;
 
 	@Inject
 	private EventManager eventManager;
 
+	@Inject
+	private RoomDispatcher roomDispatcher;
+
+	@Inject
+	private ChatClassifier chatClassifier;
+
+	@Inject
+	private DeferredWorkQueue deferredWork;
+
+	@Inject
+	private MenuRules menuRules;
+
+	@Inject
+	private LowDetailRules lowDetailRules;
+
+	@Inject
+	private SceneManager sceneManager;
+
+	@Inject
+	@Getter
+	private FontRegistry fontRegistry;
+
 	@Inject
 	@Getter
 	private InstanceService instanceService;
@@ -144,6 +161,10 @@ public class TheatreQOLPlugin extends Plugin
 	@Getter
 	private RoomDataHandler dataHandler;
 
+	// Rebuilt on every change to the config group, render and tick paths read this instead of the config proxy
+	@Getter
+	private ConfigSnapshot configSnapshot;
+
 	private boolean darknessHidden;
 
 	@Getter
@@ -155,14 +176,6 @@ public class TheatreQOLPlugin extends Plugin
 	@Getter
 	boolean chestHasLoot = false;
 
-	private final ArrayListMultimap<String, Integer> optionIndexes = ArrayListMultimap.create();
-
-	@Getter
-	public Font pluginFont;
-
-	@Getter
-	public Font instanceTimerFont;
-
 	@Getter
 	public int previousRegion;
 
@@ -175,15 +188,43 @@ public class TheatreQOLPlugin extends Plugin
 	@Override
 	protected void startUp()
 	{
+		configSnapshot = new ConfigSnapshot(config);
 		dataHandler = new RoomDataHandler(client, this, config);
-		dataHandler.load();
 
-		buildFont(false); // build standard font
-		buildFont(true); // build instance timer font
+		fontRegistry.build();
+
+		sceneManager.startUp();
+		roomDispatcher.startUp();
+		chatClassifier.startUp();
+		deferredWork.startUp();
+		menuRules.startUp();
+		lowDetailRules.startUp();
+		eventManager.startUp(); // Resolves the activation tier, which attaches the overlays and rooms for it
+	}
+
+	@Override
+	protected void shutDown()
+	{
+		reset(true);
+
+		// Unregister before unloading to prevent potential data population
+		roomDispatcher.shutDown();
+		chatClassifier.shutDown();
+		deferredWork.shutDown();
+		menuRules.shutDown();
+		lowDetailRules.shutDown();
+		sceneManager.shutDown();
+		eventManager.shutDown(); // Drops back to the outside tier, detaching everything that was attached
 
-		overlayManager.add(overlay);
-		eventManager.startUp();
+		removableOverlays.forEach((k, v) -> overlayManager.removeIf(v.provideOverlay().getClass()::isInstance)); // Remove all of the active 'RoomHandler' Overlays
+		removableOverlays.clear(); // Explode the collection here as this collection gets rebuilt on this.startUp
+
+		RoomHandler.closeSoundClips();
+	}
 
+	// Rooms are built the first time the player heads towards the Theatre rather than on startUp, most sessions never get there
+	private void loadRooms()
+	{
 		if (rooms == null)
 		{
 			rooms = new RoomHandler[] { maiden.get(), bloat.get(), nylocas.get(), sotetseg.get(), xarpus.get(), verzik.get() };
@@ -194,50 +235,72 @@ public class TheatreQOLPlugin extends Plugin
 			}
 		}
 
-		for (RoomHandler room : rooms)
-		{
-			room.load();
-			eventBus.register(room);
-		}
+		roomDispatcher.setRooms(rooms);
 	}
 
-	@Override
-	protected void shutDown()
+	void onActivationTierChanged(ActivationTier previous, ActivationTier tier)
 	{
-		reset(true);
+		switch (previous)
+		{
+			case VER_SINHAZA:
+			{
+				overlayManager.remove(overlay);
+				lootChest = null;
+				break;
+			}
 
-		overlayManager.remove(overlay);
-		eventManager.shutDown();
+			case RAID:
+			{
+				for (RoomHandler room : rooms)
+				{
+					room.unload();
+				}
 
-		removableOverlays.forEach((k, v) -> overlayManager.removeIf(v.provideOverlay().getClass()::isInstance)); // Remove all of the active 'RoomHandler' Overlays
-		removableOverlays.clear(); // Explode the collection here as this collection gets rebuilt on this.startUp
+				dataHandler.unload();
+				break;
+			}
+		}
 
-		if (rooms != null)
+		if (tier.isOutside())
 		{
-			for (RoomHandler room : rooms)
+			if (darknessHidden)
 			{
-				// Unregister before unloading to prevent potential data population
-				eventBus.unregister(room);
-				room.unload();
+				hideDarkness(false);
 			}
 		}
+		else
+		{
+			loadRooms();
+		}
+
+		switch (tier)
+		{
+			case VER_SINHAZA:
+			{
+				overlayManager.add(overlay);
+				break;
+			}
+
+			case RAID:
+			{
+				dataHandler.load();
 
-		dataHandler.unload();
+				for (RoomHandler room : rooms)
+				{
+					room.load();
+				}
+				break;
+			}
+		}
 	}
 
-	// @TODO -> make this so that it doesn't reset twice every since time you leave the raid.. eventbus/instanceservice
+	// Leaving the raid resets from both the party status and the region scan, the second call finds the epoch unused
 	void reset(boolean global)
 	{
-		dataHandler.getData().clear();
+		instanceService.nextRaidEpoch();
+		dataHandler.clear();
 
-		if (rooms != null)
-		{
-			for (RoomHandler room : rooms)
-			{
-				room.reset();
-				log.debug("Resetting {}", room.getClass().getSimpleName());
-			}
-		}
+		roomDispatcher.syncRooms();
 
 		if (global)
 		{
@@ -274,6 +337,7 @@ public class TheatreQOLPlugin extends Plugin
 			return;
 		}
 
+		configSnapshot = new ConfigSnapshot(config);
 		String key = e.getKey();
 
 		removableOverlays.get(key).forEach(removableOverlay ->
@@ -291,9 +355,20 @@ public class TheatreQOLPlugin extends Plugin
 
 		switch (e.getKey())
 		{
+			case "xarpusSoundClipVolume":
+			{
+				if (config.xarpusSoundClip())
+				{
+					XarpusHandler.previewSoundClip(config.xarpusSoundClipVolume());
+				}
+
+				break;
+			}
+
 			case "lightUp":
 			{
 				hideDarkness(Boolean.valueOf(e.getNewValue()));
+				break;
 			}
 
 			case "lootReminder":
@@ -302,18 +377,16 @@ public class TheatreQOLPlugin extends Plugin
 				{
 					client.clearHintArrow();
 				}
+				break;
 			}
 
 			case "fontType":
 			case "fontSize":
 			case "fontStyle":
-			{
-				buildFont(false);
-			}
-
 			case "instanceTimerSize":
 			{
-				buildFont(true);
+				fontRegistry.invalidate(key);
+				break;
 			}
 
 			case "displayTimeSplits":
@@ -327,6 +400,11 @@ public class TheatreQOLPlugin extends Plugin
 	@Subscribe
 	private void onGameTick(GameTick e)
 	{
+		if (instanceService.getActivationTier().isOutside())
+		{
+			return;
+		}
+
 		if ((instanceService.getCurrentRegion() != instanceService.getPreviousRegion()))
 		{
 			if ((instanceService.getCurrentRegion().isSotetsegUnderworld() && instanceService.getPreviousRegion().isSotetseg()
@@ -335,11 +413,11 @@ public class TheatreQOLPlugin extends Plugin
 				return;
 			}
 
-			dataHandler.getData().clear();
+			dataHandler.clear();
 			instanceService.setPreviousRegion(instanceService.getCurrentRegion());
 		}
 
-		if (((isInVerSinhaza() && config.lightUp()) || (isInSotetseg() && config.hideSotetsegWhiteScreen())) && !darknessHidden)
+		if (((isInVerSinhaza() && configSnapshot.lightUp()) || (isInSotetseg() && configSnapshot.hideSotetsegWhiteScreen())) && !darknessHidden)
 		{
 			hideDarkness(true);
 		}
@@ -354,7 +432,7 @@ public class TheatreQOLPlugin extends Plugin
 			if (lootChest != null && Objects.requireNonNull(getObjectComposition(lootChest.getId())).getId() == RaidConstants.TOB_CHEST_UNLOOTED && !chestHasLoot)
 			{
 				chestHasLoot = true;
-				if (config.lootReminder())
+				if (configSnapshot.lootReminder())
 				{
 					client.setHintArrow(lootChest.getWorldLocation());
 				}
@@ -376,54 +454,6 @@ public class TheatreQOLPlugin extends Plugin
 		}
 	}
 
-	@Subscribe
-	private void onClientTick(ClientTick e)
-	{
-		if (client.getGameState() != GameState.LOGGED_IN || client.isMenuOpen())
-		{
-			return;
-		}
-
-		if (config.supplyChestMES() != SupplyChestPreference.OFF)
-		{
-			MenuEntry[] menuEntries = client.getMenuEntries();
-
-			// Build option map for quick lookup in findIndex
-			int index = 0;
-			optionIndexes.clear();
-
-			for (MenuEntry entry : menuEntries)
-			{
-				String option = Text.removeTags(entry.getOption());
-				optionIndexes.put(option, index++);
-			}
-
-			// Perform swaps
-			index = 0;
-
-			for (MenuEntry entry : menuEntries)
-			{
-				swapMenuEntry(index++, entry);
-			}
-		}
-
-		if (client.getGameState() == GameState.LOGGED_IN && !client.isMenuOpen() && config.bankAllMES() && (isInVerSinhaza() || isInLootRoom()))
-		{
-			MenuEntry[] entries = client.getMenuEntries();
-
-			for (MenuEntry entry : entries)
-			{
-				if (entry.getOption().equals("Bank-all"))
-				{
-					entry.setForceLeftClick(true);
-					break;
-				}
-			}
-
-			client.setMenuEntries(entries);
-		}
-	}
-
 	@Subscribe
 	public void onGameObjectSpawned(GameObjectSpawned event)
 	{
@@ -448,9 +478,9 @@ public class TheatreQOLPlugin extends Plugin
 	}
 
 	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	public void onTheatreChatMessage(TheatreChatMessage event)
 	{
-		if (instanceService.isInRaid() && event.getType().equals(ChatMessageType.GAMEMESSAGE) && event.getMessage().contains("You have failed. The vampyres take pity on you and allow you to try again."))
+		if (instanceService.isInRaid() && event.getType() == TheatreMessage.RAID_FAILED)
 		{
 			reset(false);
 		}
@@ -475,120 +505,22 @@ public class TheatreQOLPlugin extends Plugin
 
 	public boolean isInVerSinhaza()
 	{
-		return RaidConstants.VER_SINHAZA_REGIONS.contains(client.getLocalPlayer().getWorldLocation().getRegionID());
+		return instanceService.getLocation().isInVerSinhaza();
 	}
 
 	public boolean isInSotetseg()
 	{
-		LocalPoint local = LocalPoint.fromWorld(client, client.getLocalPlayer().getWorldLocation());
-		int region = WorldPoint.fromLocalInstance(client, local).getRegionID();
-		return region == Region.SOTETSEG.regionId() || region == Region.SOTETSEG_MAZE.regionId();
+		return instanceService.getLocation().isInSotetseg();
 	}
 
-	private boolean isInLootRoom()
+	public Font getPluginFont()
 	{
-		LocalPoint local = LocalPoint.fromWorld(client, client.getLocalPlayer().getWorldLocation());
-		return WorldPoint.fromLocalInstance(client, local).getRegionID() == 12867;
+		return fontRegistry.getPluginFont();
 	}
 
-	private void swapMenuEntry(int index, MenuEntry menuEntry)
+	public Font getInstanceTimerFont()
 	{
-		final String option = Text.removeTags(menuEntry.getOption());
-		final String target = Text.removeTags(menuEntry.getTarget());
-
-		// Swap the "Value" option with "Buy-1" for the given target if it's not off
-		if (option.equals("Value") && !config.supplyChestMES().toString().equals("Value"))
-		{
-			if (RaidConstants.TOB_CHEST_TARGETS.contains(target))
-			{
-				swap(option, target, index);
-			}
-		}
-	}
-
-	private void swap(String option, String target, int index)
-	{
-		MenuEntry[] menuEntries = client.getMenuEntries();
-
-		int thisIndex = findIndex(menuEntries, index, option, target);
-		int optionIdx = findIndex(menuEntries, thisIndex, config.supplyChestMES().toString(), target);
-
-		if (thisIndex >= 0 && optionIdx >= 0)
-		{
-			swap(optionIndexes, menuEntries, optionIdx, thisIndex);
-		}
-	}
-
-	private int findIndex(MenuEntry[] entries, int limit, String option, String target)
-	{
-		List<Integer> indexes = optionIndexes.get(option);
-
-		// We want the last index which matches the target, as that is what is top-most on the menu
-		for (int i = indexes.size() - 1; i >= 0; i--)
-		{
-			int index = indexes.get(i);
-			MenuEntry entry = entries[index];
-			String entryTarget = Text.removeTags(entry.getTarget());
-
-			// Limit to the last index which is prior to the current entry
-			if (index <= limit && entryTarget.equals(target))
-			{
-				return index;
-			}
-		}
-
-		return -1;
-	}
-
-	private void swap(ArrayListMultimap<String, Integer> optionIndexes, MenuEntry[] entries, int index1, int index2)
-	{
-		MenuEntry entry = entries[index1];
-		entries[index1] = entries[index2];
-		entries[index2] = entry;
-
-		client.setMenuEntries(entries);
-
-		// Rebuild option indexes
-		optionIndexes.clear();
-		int idx = 0;
-		for (MenuEntry menuEntry : entries)
-		{
-			String option = Text.removeTags(menuEntry.getOption());
-			optionIndexes.put(option, idx++);
-		}
-	}
-
-	private Font buildFont(boolean timer)
-	{
-		if (timer)
-		{
-			return instanceTimerFont = new Font(pluginFont.getName(), pluginFont.getStyle(), config.instanceTimerSize());
-		}
-		else
-		{
-			String font = null;
-			int style = config.fontStyle().getValue();
-
-			switch (config.fontType().getName())
-			{
-				case "RS Regular":
-					font = FontManager.getRunescapeFont().getName();
-					style = FontManager.getRunescapeFont().getStyle();
-					break;
-
-				case "RS Bold":
-					font = FontManager.getRunescapeBoldFont().getName();
-					style = FontManager.getRunescapeBoldFont().getStyle();
-					break;
-
-				case "RS Small":
-					font = FontManager.getRunescapeSmallFont().getName();
-					style = FontManager.getRunescapeSmallFont().getStyle();
-					break;
-			}
-
-			return pluginFont = new Font(font == null ? config.fontStyle().getStyle() : font, style, font == null ? config.fontSize() : 16);
-		}
+		return fontRegistry.getInstanceTimerFont();
 	}
 
 	public boolean hasSalve()
@@ -647,7 +579,6 @@ public class TheatreQOLPlugin extends Plugin
 		return false; // No ammo found in either slot
 	}
 
-
 	public String getSpellbook()
 	{
 		int spellbookId = client.getVarbitValue(4070);
@@ -35,7 +35,7 @@ import java.text.DecimalFormat;
 @Getter
 public class Health implements Comparable<Health>
 {
-	private final int base;
+	private int base;
 
 	@Setter
 	private int current;
@@ -46,6 +46,16 @@ public class Health implements Comparable<Health>
 		this.current = base;
 	}
 
+	/**
+	 * Refills the health to a new base so pooled owners can reuse it.
+	 */
+	public Health reset(int base)
+	{
+		this.base = base;
+		this.current = base;
+		return this;
+	}
+
 	public boolean zero()
 	{
 		return current == 0;
@@ -80,6 +80,9 @@ public interface Instance
 	boolean isHardMode();
 
 	Region getCurrentRegion();
+	PlayerLocation getLocation();
+	ActivationTier getActivationTier();
+	int getRaidEpoch();
 	int getRaidStatus();
 	boolean isInRaid();
 	int getRoomStatus();
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import com.tobqol.rooms.bloat.commons.BloatTable;
+import com.tobqol.rooms.maiden.commons.MaidenTable;
+import com.tobqol.rooms.nylocas.commons.NylocasConstants;
+import com.tobqol.rooms.sotetseg.commons.SotetsegTable;
+import com.tobqol.rooms.verzik.commons.VerzikMap;
+import com.tobqol.rooms.xarpus.commons.XarpusTable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves a Theatre of Blood NPC id to its room, its entry in that room's table, and the instanced-mode it belongs to.
+ * Backed by flat arrays spanning the lowest to highest id in the tables, so lookups are a bounds check and an index.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NpcRegistry
+{
+	private static final int OFFSET;
+	private static final Region[] ROOMS;
+	private static final Enum<?>[] ROLES;
+	private static final Instance.Mode[] MODES;
+
+	static
+	{
+		int[] bounds = { Integer.MAX_VALUE, Integer.MIN_VALUE };
+
+		registerAll((room, role, mode, npcId) ->
+		{
+			bounds[0] = Math.min(bounds[0], npcId);
+			bounds[1] = Math.max(bounds[1], npcId);
+		});
+
+		OFFSET = bounds[0];
+		ROOMS = new Region[bounds[1] - bounds[0] + 1];
+		ROLES = new Enum<?>[ROOMS.length];
+		MODES = new Instance.Mode[ROOMS.length];
+
+		registerAll((room, role, mode, npcId) ->
+		{
+			int index = npcId - OFFSET;
+
+			// First registration wins, matching the story -> regular -> hard order the old findMode lookups used
+			if (ROLES[index] != null)
+			{
+				return;
+			}
+
+			ROOMS[index] = room;
+			ROLES[index] = role;
+			MODES[index] = mode;
+		});
+	}
+
+	public static Region room(int npcId)
+	{
+		int index = npcId - OFFSET;
+		return index < 0 || index >= ROOMS.length || ROOMS[index] == null ? Region.UNKNOWN : ROOMS[index];
+	}
+
+	@Nullable
+	public static Enum<?> role(int npcId)
+	{
+		int index = npcId - OFFSET;
+		return index < 0 || index >= ROLES.length ? null : ROLES[index];
+	}
+
+	@Nullable
+	public static <E extends Enum<E>> E role(int npcId, Class<E> table)
+	{
+		Enum<?> role = role(npcId);
+		return table.isInstance(role) ? table.cast(role) : null;
+	}
+
+	public static boolean is(int npcId, Enum<?> role)
+	{
+		return role != null && role(npcId) == role;
+	}
+
+	@Nullable
+	public static Instance.Mode mode(int npcId)
+	{
+		int index = npcId - OFFSET;
+		return index < 0 || index >= MODES.length ? null : MODES[index];
+	}
+
+	private interface Registrar
+	{
+		void register(Region room, Enum<?> role, Instance.Mode mode, int npcId);
+	}
+
+	private static void registerAll(Registrar registrar)
+	{
+		for (MaidenTable def : MaidenTable.values())
+		{
+			register(registrar, Region.MAIDEN, def, def.sm(), def.rg(), def.hm());
+		}
+
+		for (BloatTable def : BloatTable.values())
+		{
+			register(registrar, Region.BLOAT, def, def.sm(), def.rg(), def.hm());
+		}
+
+		for (NylocasConstants def : NylocasConstants.values())
+		{
+			register(registrar, Region.NYLOCAS, def, def.sm(), def.rg(), def.hm());
+			register(registrar, Region.NYLOCAS, def, def.aggro_sm(), def.aggro_rg(), def.aggro_hm());
+		}
+
+		for (SotetsegTable def : SotetsegTable.values())
+		{
+			register(registrar, Region.SOTETSEG, def, def.sm(), def.rg(), def.hm());
+		}
+
+		for (XarpusTable def : XarpusTable.values())
+		{
+			register(registrar, Region.XARPUS, def, def.sm(), def.rg(), def.hm());
+		}
+
+		for (VerzikMap def : VerzikMap.values())
+		{
+			register(registrar, Region.VERZIK, def, def.sm(), def.rg(), def.hm());
+		}
+	}
+
+	private static void register(Registrar registrar, Region room, Enum<?> role, int sm, int rg, int hm)
+	{
+		// Tables use -1 for modes an NPC does not appear in
+		if (sm != -1)
+		{
+			registrar.register(room, role, Instance.Mode.STORY, sm);
+		}
+
+		if (rg != -1)
+		{
+			registrar.register(room, role, Instance.Mode.REGULAR, rg);
+		}
+
+		if (hm != -1)
+		{
+			registrar.register(room, role, Instance.Mode.HARD, hm);
+		}
+	}
+}
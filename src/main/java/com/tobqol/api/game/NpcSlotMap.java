@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import net.runelite.api.NPC;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+/**
+ * Per-NPC state keyed by the NPC's index rather than its hash, so a lookup is an array read.
+ * A slot only answers for the NPC it was filled for, a reused index replaces whatever was left behind.
+ * Live slots are also kept in a dense list, iteration never walks the empty part of the index range.
+ * Values dropped from the map are passed to the release callback, which is how pooled state finds its way back.
+ */
+public final class NpcSlotMap<T>
+{
+	// The client addresses NPCs with 15 bits
+	public static final int MAX_NPC_INDEX = 32767;
+
+	private static final int MIN_CAPACITY = 64;
+
+	private NPC[] npcs = new NPC[0];
+	private Object[] values = new Object[0];
+
+	// Position of each index in the dense list, -1 while the slot is empty
+	private int[] positions = new int[0];
+	private int[] live = new int[16];
+	private int size = 0;
+
+	@Nullable
+	private final Consumer<? super T> onRelease;
+
+	private final List<T> valuesView = new AbstractList<T>()
+	{
+		@Override
+		public T get(int position)
+		{
+			if (position >= size)
+			{
+				throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size);
+			}
+
+			return value(live[position]);
+		}
+
+		@Override
+		public int size()
+		{
+			return size;
+		}
+	};
+
+	public NpcSlotMap()
+	{
+		this(null);
+	}
+
+	public NpcSlotMap(@Nullable Consumer<? super T> onRelease)
+	{
+		this.onRelease = onRelease;
+	}
+
+	@Nullable
+	public T get(NPC npc)
+	{
+		int index = slot(npc);
+		return index < 0 ? null : value(index);
+	}
+
+	public boolean containsKey(NPC npc)
+	{
+		return slot(npc) >= 0;
+	}
+
+	@Nullable
+	public T put(NPC npc, T value)
+	{
+		int index = npc.getIndex();
+
+		if (index < 0 || index > MAX_NPC_INDEX)
+		{
+			return null;
+		}
+
+		ensureCapacity(index);
+
+		T previous = null;
+
+		if (npcs[index] == npc)
+		{
+			previous = value(index);
+		}
+		else if (positions[index] >= 0)
+		{
+			// The index was reused without the previous NPC ever despawning
+			released(value(index));
+		}
+
+		if (positions[index] < 0)
+		{
+			if (size == live.length)
+			{
+				live = Arrays.copyOf(live, size << 1);
+			}
+
+			positions[index] = size;
+			live[size++] = index;
+		}
+
+		npcs[index] = npc;
+		values[index] = value;
+		return previous;
+	}
+
+	@Nullable
+	public T putIfAbsent(NPC npc, T value)
+	{
+		T current = get(npc);
+		return current != null ? current : put(npc, value);
+	}
+
+	/**
+	 * Drops the NPC's slot and releases its value, returns whether there was one.
+	 */
+	public boolean remove(NPC npc)
+	{
+		int index = slot(npc);
+
+		if (index < 0)
+		{
+			return false;
+		}
+
+		release(index);
+		return true;
+	}
+
+	/**
+	 * Drops every slot the predicate matches, it is safe to read the map from within the predicate.
+	 */
+	public int removeIf(BiPredicate<NPC, T> filter)
+	{
+		int removed = 0;
+
+		// Walking backwards means the slot swapped into a released position has already been tested
+		for (int position = size - 1; position >= 0; position--)
+		{
+			int index = live[position];
+
+			if (filter.test(npcs[index], value(index)))
+			{
+				release(index);
+				removed++;
+			}
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Visits every live slot, values may be replaced from within the action but slots must not be added or removed.
+	 */
+	public void forEach(BiConsumer<NPC, T> action)
+	{
+		for (int position = 0; position < size; position++)
+		{
+			int index = live[position];
+			action.accept(npcs[index], value(index));
+		}
+	}
+
+	/**
+	 * Live view of the values in slot order.
+	 */
+	public List<T> values()
+	{
+		return valuesView;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public void clear()
+	{
+		for (int position = 0; position < size; position++)
+		{
+			int index = live[position];
+			T value = value(index);
+
+			npcs[index] = null;
+			values[index] = null;
+			positions[index] = -1;
+			released(value);
+		}
+
+		size = 0;
+	}
+
+	private int slot(@Nullable NPC npc)
+	{
+		if (npc == null)
+		{
+			return -1;
+		}
+
+		int index = npc.getIndex();
+		return index >= 0 && index < npcs.length && npcs[index] == npc ? index : -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T value(int index)
+	{
+		return (T) values[index];
+	}
+
+	private void release(int index)
+	{
+		int position = positions[index];
+		int last = live[--size];
+		T value = value(index);
+
+		live[position] = last;
+		positions[last] = position;
+
+		positions[index] = -1;
+		npcs[index] = null;
+		values[index] = null;
+		released(value);
+	}
+
+	private void released(@Nullable T value)
+	{
+		if (onRelease != null && value != null)
+		{
+			onRelease.accept(value);
+		}
+	}
+
+	private void ensureCapacity(int index)
+	{
+		if (index < npcs.length)
+		{
+			return;
+		}
+
+		int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(index) << 1);
+		int previous = npcs.length;
+
+		npcs = Arrays.copyOf(npcs, capacity);
+		values = Arrays.copyOf(values, capacity);
+		positions = Arrays.copyOf(positions, capacity);
+		Arrays.fill(positions, previous, capacity, -1);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.annotation.Nullable;
+
+/**
+ * Where the local player stood at the start of the current game tick, translated out of the instance.
+ */
+@Getter
+public final class PlayerLocation
+{
+	public static final PlayerLocation UNKNOWN = new PlayerLocation(null, false);
+
+	@Nullable
+	private final WorldPoint worldPoint;
+	private final int regionId;
+	private final boolean instanced;
+
+	// Only resolved inside instances, matching Region.getCurrentRegionID
+	private final Region region;
+
+	private final boolean inVerSinhaza;
+
+	PlayerLocation(@Nullable WorldPoint worldPoint, boolean instanced)
+	{
+		this.worldPoint = worldPoint;
+		this.regionId = worldPoint == null ? -1 : worldPoint.getRegionID();
+		this.instanced = instanced;
+		this.region = instanced ? Region.of(regionId) : Region.UNKNOWN;
+		this.inVerSinhaza = RaidConstants.VER_SINHAZA_REGIONS.contains(regionId);
+	}
+
+	public static PlayerLocation of(@Nullable WorldPoint worldPoint, boolean instanced)
+	{
+		return worldPoint == null ? UNKNOWN : new PlayerLocation(worldPoint, instanced);
+	}
+
+	public boolean isIn(Region region)
+	{
+		return this.region == region;
+	}
+
+	public boolean isInSotetseg()
+	{
+		return regionId == Region.SOTETSEG.regionId() || regionId == Region.SOTETSEG_MAZE.regionId();
+	}
+
+	public boolean isInLootRoom()
+	{
+		return regionId == Region.LOOT_ROOM.regionId();
+	}
+}
@@ -17,6 +17,10 @@ public interface RaidConstants
     int TOB_BANK_CHEST = 41437;
     int TOB_ENTRANCE = 32653;
 
+    // Party member names live in five consecutive varc strings, one per orb varbit
+    int THEATRE_OF_BLOOD_PARTY_VARC = 330;
+    int THEATRE_OF_BLOOD_PARTY_SLOTS = 5;
+
     Set<Integer> VER_SINHAZA_REGIONS = ImmutableSet.of(
             14386,
             14642
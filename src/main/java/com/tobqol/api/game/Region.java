@@ -63,7 +63,8 @@ public enum Region
 	private final String prettyName;
 	private final int regionId;
 	private final int zone;
-	private final @Nullable WorldArea imaginaryLine;
+	// Region-local tiles a player steps on to start the room, compiled once from the world area below
+	private final @Nullable TileTrigger imaginaryLine;
 
 	private static final Map<Integer, Region> lookupMap;
 
@@ -108,7 +109,7 @@ public enum Region
 
 	Region(String prettyName, int regionID, int p, int x, int y, WorldArea imaginaryLine)
 	{
-		this(prettyName, regionID, (p << 24 | x << 14 | y << 3), imaginaryLine);
+		this(prettyName, regionID, (p << 24 | x << 14 | y << 3), TileTrigger.area(imaginaryLine));
 	}
 
 	Region(String prettyName, int regionID, int p, int x, int y)
@@ -145,22 +146,15 @@ public enum Region
 			return false;
 		}
 
-		try
-		{
-			LocalPoint lp = LocalPoint.fromWorld(client, player.getWorldLocation());
-
-			if (lp == null)
-			{
-				return false;
-			}
+		LocalPoint lp = player.getLocalLocation();
 
-			WorldPoint wp = WorldPoint.fromLocalInstance(client, lp);
-			return wp != null && imaginaryLine.distanceTo2D(wp) <= 0;
-		}
-		catch (RuntimeException ex)
+		if (lp == null)
 		{
 			return false;
 		}
+
+		WorldPoint wp = WorldPoint.fromLocalInstance(client, lp);
+		return wp != null && wp.getRegionID() == regionId && imaginaryLine.contains(wp);
 	}
 
 	public boolean isLobby()
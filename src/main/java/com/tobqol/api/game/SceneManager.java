@@ -25,27 +25,79 @@
  */
 package com.tobqol.api.game;
 
-import com.google.common.primitives.Ints;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
 import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
+/**
+ * Removes scene objects by id. Every id that has been asked for once is indexed from the spawn and despawn events,
+ * so later removals only touch matching objects instead of scanning the whole scene.
+ * Removed plane and id pairs are remembered until the scene reloads, repeat requests are free and anything that
+ * spawns into a removed pair afterwards is removed as it arrives.
+ * Removals are recorded per pair and can be restored in place, so undoing one doesn't need a scene reload.
+ */
 @Singleton
 public class SceneManager
 {
 	private final Client client;
 	private final ClientThread clientThread;
+	private final EventBus eventBus;
+
+	// Live objects per tracked id, an id is tracked from the first time it is asked for
+	private final Map<Integer, Set<GameObject>> gameObjects = new HashMap<>();
+	private final Map<Integer, Set<Tile>> groundObjects = new HashMap<>();
+
+	// Plane and id pairs already removed from the current scene, see hiddenKey
+	private final Set<Integer> hiddenGameObjects = new HashSet<>();
+	private final Set<Integer> hiddenGroundObjects = new HashSet<>();
+
+	// What each pair removed from the current scene, kept so the removal can be undone
+	private final Map<Integer, List<GameObject>> removedGameObjects = new HashMap<>();
+	private final Map<Integer, Map<Tile, GroundObject>> removedGroundObjects = new HashMap<>();
+
+	// The client can't put a game object back into the scene, restored ones are drawn by a stand-in carrying their model
+	private final Map<Integer, List<RuneLiteObject>> standIns = new HashMap<>();
 
 	@Inject
-	SceneManager(Client client, ClientThread clientThread)
+	SceneManager(Client client, ClientThread clientThread, EventBus eventBus)
 	{
 		this.client = client;
 		this.clientThread = clientThread;
+		this.eventBus = eventBus;
+	}
+
+	public void startUp()
+	{
+		eventBus.register(this);
+	}
+
+	public void shutDown()
+	{
+		eventBus.unregister(this);
+		gameObjects.clear();
+		groundObjects.clear();
+		forgetEdits();
 	}
 
 	public void refreshScene()
@@ -58,6 +110,91 @@ public class SceneManager
 		clientThread.invoke(() -> client.setGameState(GameState.LOADING));
 	}
 
+	@Subscribe
+	private void onGameStateChanged(GameStateChanged e)
+	{
+		switch (e.getGameState())
+		{
+			case LOADING:
+			case HOPPING:
+			case LOGIN_SCREEN:
+				// The incoming scene posts a spawn for each of its objects, which rebuilds the index
+				gameObjects.values().forEach(Set::clear);
+				groundObjects.values().forEach(Set::clear);
+				forgetEdits();
+				break;
+		}
+	}
+
+	@Subscribe
+	private void onGameObjectSpawned(GameObjectSpawned e)
+	{
+		GameObject object = e.getGameObject();
+		Set<GameObject> objects = gameObjects.get(object.getId());
+
+		if (objects == null)
+		{
+			return;
+		}
+
+		int key = hiddenKey(object.getPlane(), object.getId());
+
+		if (hiddenGameObjects.contains(key))
+		{
+			client.getScene().removeGameObject(object);
+			removedGameObjects.computeIfAbsent(key, k -> new ArrayList<>()).add(object);
+			return;
+		}
+
+		objects.add(object);
+	}
+
+	@Subscribe
+	private void onGameObjectDespawned(GameObjectDespawned e)
+	{
+		GameObject object = e.getGameObject();
+		Set<GameObject> objects = gameObjects.get(object.getId());
+
+		if (objects != null)
+		{
+			objects.remove(object);
+		}
+	}
+
+	@Subscribe
+	private void onGroundObjectSpawned(GroundObjectSpawned e)
+	{
+		GroundObject object = e.getGroundObject();
+		Set<Tile> tiles = groundObjects.get(object.getId());
+
+		if (tiles == null)
+		{
+			return;
+		}
+
+		int key = hiddenKey(object.getPlane(), object.getId());
+
+		if (hiddenGroundObjects.contains(key))
+		{
+			e.getTile().setGroundObject(null);
+			removedGroundObjects.computeIfAbsent(key, k -> new IdentityHashMap<>()).put(e.getTile(), object);
+			return;
+		}
+
+		tiles.add(e.getTile());
+	}
+
+	@Subscribe
+	private void onGroundObjectDespawned(GroundObjectDespawned e)
+	{
+		Set<Tile> tiles = groundObjects.get(e.getGroundObject().getId());
+
+		if (tiles != null)
+		{
+			tiles.remove(e.getTile());
+		}
+	}
+
 	public void forEachTile(int plane, BiConsumer<Scene, Tile> user)
 	{
 		if (plane < 0 || plane >= 4 || user == null || client.getGameState() != GameState.LOGGED_IN)
@@ -125,41 +262,62 @@ public class SceneManager
 		removeThisTile(worldPoint.getPlane(), worldPoint.getX() - client.getBaseX(), worldPoint.getY() - client.getBaseY());
 	}
 
-	private void removeTheseGameObjects(int plane, int... gameObjectIds)
+	private void hideGameObjects(int plane, Collection<Integer> ids)
 	{
-		if (gameObjectIds.length == 0 || plane < 0 || plane > 3)
+		if (plane < 0 || plane >= Constants.MAX_Z || client.getGameState() != GameState.LOGGED_IN)
 		{
 			return;
 		}
 
-		forEachTile(plane, (scene, tile) ->
+		List<Integer> untracked = null;
+
+		for (Integer id : ids)
+		{
+			if (!gameObjects.containsKey(id))
+			{
+				gameObjects.put(id, Collections.newSetFromMap(new IdentityHashMap<>()));
+
+				if (untracked == null)
+				{
+					untracked = new ArrayList<>(ids.size());
+				}
+
+				untracked.add(id);
+			}
+		}
+
+		// Objects spawned before the id was first asked for are only found by scanning once
+		if (untracked != null)
+		{
+			indexGameObjects(untracked);
+		}
+
+		Scene scene = client.getScene();
+
+		for (Integer id : ids)
 		{
-			GameObject[] arr = tile.getGameObjects();
+			int key = hiddenKey(plane, id);
 
-			if (arr == null || arr.length == 0)
+			if (!hiddenGameObjects.add(key))
 			{
-				return;
+				continue;
 			}
 
-			for (GameObject o : arr)
+			dropStandIns(key);
+			List<GameObject> removed = removedGameObjects.computeIfAbsent(key, k -> new ArrayList<>());
+
+			for (Iterator<GameObject> it = gameObjects.get(id).iterator(); it.hasNext(); )
 			{
-				if (o == null)
-				{
-					continue;
-				}
+				GameObject object = it.next();
 
-				for (int id : gameObjectIds)
+				if (object.getPlane() == plane)
 				{
-					if (o.getId() != id)
-					{
-						continue;
-					}
-
-					scene.removeGameObject(o);
-					break;
+					scene.removeGameObject(object);
+					removed.add(object);
+					it.remove();
 				}
 			}
-		});
+		}
 	}
 
 	public void removeTheseGameObjects(int plane, Collection<Integer> gameObjectIds)
@@ -171,29 +329,65 @@ public class SceneManager
 
 		if (client.isClientThread())
 		{
-			removeTheseGameObjects(plane, Ints.toArray(gameObjectIds));
+			hideGameObjects(plane, gameObjectIds);
 			return;
 		}
 
-		clientThread.invoke(() -> removeTheseGameObjects(plane, Ints.toArray(gameObjectIds)));
+		clientThread.invoke(() -> hideGameObjects(plane, gameObjectIds));
 	}
 
-	private void removeTheseGroundObjects(int plane, int... groundObjectIds)
+	private void hideGroundObjects(int plane, Collection<Integer> ids)
 	{
-		if (plane < 0 || plane > 3)
+		if (plane < 0 || plane >= Constants.MAX_Z || client.getGameState() != GameState.LOGGED_IN)
 		{
 			return;
 		}
 
-		forEachTile(plane, (scene, tile) ->
+		List<Integer> untracked = null;
+
+		for (Integer id : ids)
+		{
+			if (!groundObjects.containsKey(id))
+			{
+				groundObjects.put(id, Collections.newSetFromMap(new IdentityHashMap<>()));
+
+				if (untracked == null)
+				{
+					untracked = new ArrayList<>(ids.size());
+				}
+
+				untracked.add(id);
+			}
+		}
+
+		if (untracked != null)
+		{
+			indexGroundObjects(untracked);
+		}
+
+		for (Integer id : ids)
 		{
-			GroundObject object = tile.getGroundObject();
+			int key = hiddenKey(plane, id);
+
+			if (!hiddenGroundObjects.add(key))
+			{
+				continue;
+			}
+
+			Map<Tile, GroundObject> removed = removedGroundObjects.computeIfAbsent(key, k -> new IdentityHashMap<>());
 
-			if (object != null)
+			for (Iterator<Tile> it = groundObjects.get(id).iterator(); it.hasNext(); )
 			{
-				tile.setGroundObject(null);
+				Tile tile = it.next();
+
+				if (tile.getPlane() == plane)
+				{
+					removed.put(tile, tile.getGroundObject());
+					tile.setGroundObject(null);
+					it.remove();
+				}
 			}
-		});
+		}
 	}
 
 	public void removeTheseGroundObjects(int plane, Collection<Integer> groundObjectIds)
@@ -205,10 +399,204 @@ public class SceneManager
 
 		if (client.isClientThread())
 		{
-			removeTheseGroundObjects(plane, Ints.toArray(groundObjectIds));
+			hideGroundObjects(plane, groundObjectIds);
+			return;
+		}
+
+		clientThread.invoke(() -> hideGroundObjects(plane, groundObjectIds));
+	}
+
+	/**
+	 * Undoes earlier removals of these ids on the plane without reloading the scene. Restored objects are drawn but can't
+	 * be clicked or examined until the next scene load brings back the real ones.
+	 * A removed object whose renderable isn't a plain model can only come back through a reload, which is then forced once.
+	 */
+	public void restoreTheseGameObjects(int plane, Collection<Integer> gameObjectIds)
+	{
+		if (gameObjectIds == null || gameObjectIds.isEmpty())
+		{
+			return;
+		}
+
+		if (client.isClientThread())
+		{
+			showGameObjects(plane, gameObjectIds);
+			return;
+		}
+
+		clientThread.invoke(() -> showGameObjects(plane, gameObjectIds));
+	}
+
+	public void restoreTheseGroundObjects(int plane, Collection<Integer> groundObjectIds)
+	{
+		if (groundObjectIds == null || groundObjectIds.isEmpty())
+		{
 			return;
 		}
 
-		clientThread.invoke(() -> removeTheseGroundObjects(plane, Ints.toArray(groundObjectIds)));
+		if (client.isClientThread())
+		{
+			showGroundObjects(plane, groundObjectIds);
+			return;
+		}
+
+		clientThread.invoke(() -> showGroundObjects(plane, groundObjectIds));
+	}
+
+	private void showGameObjects(int plane, Collection<Integer> ids)
+	{
+		if (client.getGameState() != GameState.LOGGED_IN)
+		{
+			return;
+		}
+
+		boolean reload = false;
+
+		for (Integer id : ids)
+		{
+			int key = hiddenKey(plane, id);
+
+			if (!hiddenGameObjects.remove(key))
+			{
+				continue;
+			}
+
+			List<GameObject> removed = removedGameObjects.get(key);
+
+			if (removed == null || removed.isEmpty())
+			{
+				continue;
+			}
+
+			List<RuneLiteObject> restored = standIns.computeIfAbsent(key, k -> new ArrayList<>(removed.size()));
+
+			for (GameObject object : removed)
+			{
+				Renderable renderable = object.getRenderable();
+
+				if (!(renderable instanceof Model))
+				{
+					reload = true;
+					continue;
+				}
+
+				// Drawn the way the scene drew the object, from its centre tile at ground height with the same model rotation.
+				// A stand-in has no clickbox or menu options, the real object only returns with the next scene load.
+				RuneLiteObject standIn = client.createRuneLiteObject();
+				standIn.setModel((Model) renderable);
+				standIn.setLocation(object.getLocalLocation(), plane);
+				standIn.setOrientation(object.getModelOrientation());
+				standIn.setActive(true);
+				restored.add(standIn);
+			}
+		}
+
+		if (reload)
+		{
+			refreshScene();
+		}
+	}
+
+	private void showGroundObjects(int plane, Collection<Integer> ids)
+	{
+		if (client.getGameState() != GameState.LOGGED_IN)
+		{
+			return;
+		}
+
+		for (Integer id : ids)
+		{
+			int key = hiddenKey(plane, id);
+
+			if (!hiddenGroundObjects.remove(key))
+			{
+				continue;
+			}
+
+			Map<Tile, GroundObject> removed = removedGroundObjects.remove(key);
+
+			if (removed == null)
+			{
+				continue;
+			}
+
+			Set<Tile> tiles = groundObjects.get(id);
+
+			removed.forEach((tile, object) ->
+			{
+				if (tile.getGroundObject() == null)
+				{
+					tile.setGroundObject(object);
+					tiles.add(tile);
+				}
+			});
+		}
+	}
+
+	private void dropStandIns(int key)
+	{
+		List<RuneLiteObject> restored = standIns.remove(key);
+
+		if (restored != null)
+		{
+			restored.forEach(standIn -> standIn.setActive(false));
+		}
+	}
+
+	// Nothing recorded against the outgoing scene means anything in the next one
+	private void forgetEdits()
+	{
+		standIns.values().forEach(restored -> restored.forEach(standIn -> standIn.setActive(false)));
+		standIns.clear();
+		removedGameObjects.clear();
+		removedGroundObjects.clear();
+		hiddenGameObjects.clear();
+		hiddenGroundObjects.clear();
+	}
+
+	private void indexGameObjects(List<Integer> ids)
+	{
+		for (int plane = 0; plane < Constants.MAX_Z; plane++)
+		{
+			forEachTile(plane, (scene, tile) ->
+			{
+				GameObject[] arr = tile.getGameObjects();
+
+				if (arr == null)
+				{
+					return;
+				}
+
+				for (GameObject o : arr)
+				{
+					if (o != null && ids.contains(o.getId()))
+					{
+						gameObjects.get(o.getId()).add(o);
+					}
+				}
+			});
+		}
+	}
+
+	private void indexGroundObjects(List<Integer> ids)
+	{
+		for (int plane = 0; plane < Constants.MAX_Z; plane++)
+		{
+			forEachTile(plane, (scene, tile) ->
+			{
+				GroundObject o = tile.getGroundObject();
+
+				if (o != null && ids.contains(o.getId()))
+				{
+					groundObjects.get(o.getId()).add(tile);
+				}
+			});
+		}
+	}
+
+	// Object ids fit well within 30 bits, which leaves the low two for the plane
+	private static int hiddenKey(int plane, int id)
+	{
+		return id << 2 | plane;
 	}
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import com.tobqol.rooms.sotetseg.commons.SotetsegConstants;
+import com.tobqol.rooms.verzik.commons.VerzikMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Game messages the plugin reacts to, as recognised by the chat classifier.
+ */
+@RequiredArgsConstructor
+@Getter
+@Accessors(fluent = true)
+public enum TheatreMessage
+{
+	// "Wave '<name>' (<mode>) complete!", keyed by the quoted name
+	MAIDEN_COMPLETE(Region.MAIDEN, "The Maiden of Sugadinti"),
+	BLOAT_COMPLETE(Region.BLOAT, "The Pestilent Bloat"),
+	NYLOCAS_COMPLETE(Region.NYLOCAS, "The Nylocas"),
+	SOTETSEG_COMPLETE(Region.SOTETSEG, "Sotetseg"),
+	XARPUS_COMPLETE(Region.XARPUS, "Xarpus"),
+	VERZIK_COMPLETE(Region.VERZIK, "The Final Challenge"),
+
+	// Matched against the whole message once tags are stripped
+	SOTETSEG_DEATH_BALL(Region.SOTETSEG, SotetsegConstants.SOTETSEG_DEATHBALL),
+	VERZIK_GREEN_BALL(Region.VERZIK, VerzikMap.GREEN_BALL_TEXT),
+	VERZIK_GREEN_BALL_BOUNCE(Region.VERZIK, VerzikMap.GREEN_BALL_BOUNCE_TEXT),
+	RAID_FAILED(null, "You have failed. The vampyres take pity on you and allow you to try again.");
+
+	@Nullable
+	private final Region room;
+	private final String text;
+
+	public boolean isRoomComplete()
+	{
+		return ordinal() <= VERZIK_COMPLETE.ordinal();
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.annotation.Nullable;
+
+/**
+ * A set of tiles within a single 64x64 map region, stored as one bit per tile.
+ * Tiles are addressed by {@link #pack(int, int)}, so a test is a single array read and mask.
+ */
+public final class TileTrigger
+{
+	public static final int NONE = -1;
+
+	private static final int REGION_SIZE = 64;
+
+	// One word per region x, bit y of the word set when the tile is part of the trigger
+	private final long[] tiles = new long[REGION_SIZE];
+
+	/**
+	 * Packs region-local coordinates into the key every trigger is looked up by.
+	 */
+	public static int pack(int regionX, int regionY)
+	{
+		return (regionX & (REGION_SIZE - 1)) << 6 | (regionY & (REGION_SIZE - 1));
+	}
+
+	public static int pack(@Nullable WorldPoint wp)
+	{
+		return wp == null ? NONE : pack(wp.getRegionX(), wp.getRegionY());
+	}
+
+	public static TileTrigger of(int... regionXY)
+	{
+		TileTrigger trigger = new TileTrigger();
+
+		for (int i = 0; i + 1 < regionXY.length; i += 2)
+		{
+			trigger.add(regionXY[i], regionXY[i + 1]);
+		}
+
+		return trigger;
+	}
+
+	/**
+	 * Every tile from (x1, y1) to (x2, y2) inclusive.
+	 */
+	public static TileTrigger rect(int x1, int y1, int x2, int y2)
+	{
+		TileTrigger trigger = new TileTrigger();
+
+		for (int x = Math.min(x1, x2); x <= Math.max(x1, x2); x++)
+		{
+			for (int y = Math.min(y1, y2); y <= Math.max(y1, y2); y++)
+			{
+				trigger.add(x, y);
+			}
+		}
+
+		return trigger;
+	}
+
+	@Nullable
+	public static TileTrigger area(@Nullable WorldArea area)
+	{
+		if (area == null)
+		{
+			return null;
+		}
+
+		WorldPoint sw = new WorldPoint(area.getX(), area.getY(), area.getPlane());
+		WorldPoint ne = new WorldPoint(area.getX() + area.getWidth() - 1, area.getY() + area.getHeight() - 1, area.getPlane());
+		return rect(sw.getRegionX(), sw.getRegionY(), ne.getRegionX(), ne.getRegionY());
+	}
+
+	private void add(int regionX, int regionY)
+	{
+		int key = pack(regionX, regionY);
+		tiles[key >>> 6] |= 1L << key;
+	}
+
+	public boolean contains(int key)
+	{
+		return key >= 0 && (tiles[key >>> 6] & 1L << key) != 0;
+	}
+
+	public boolean contains(@Nullable WorldPoint wp)
+	{
+		return contains(pack(wp));
+	}
+}
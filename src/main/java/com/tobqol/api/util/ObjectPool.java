@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.util;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Free list of reusable state objects, objects handed back are re-initialised by the caller on their next use.
+ * Pools live as long as the room that owns them, so after the first raid the busiest ticks stop allocating.
+ */
+public final class ObjectPool<T>
+{
+	private final Supplier<T> factory;
+	private final int capacity;
+	private final ArrayDeque<T> free;
+
+	public ObjectPool(Supplier<T> factory, int capacity)
+	{
+		this.factory = factory;
+		this.capacity = capacity;
+		this.free = new ArrayDeque<>(capacity);
+	}
+
+	public T obtain()
+	{
+		T obj = free.poll();
+		return obj == null ? factory.get() : obj;
+	}
+
+	/**
+	 * Hands the object back, anything past the pool's capacity is left to the garbage collector.
+	 */
+	public void release(T obj)
+	{
+		if (obj != null && free.size() < capacity)
+		{
+			free.push(obj);
+		}
+	}
+
+	public int available()
+	{
+		return free.size();
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.util;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Countdowns stored as the absolute game tick they run out on, bucketed into a wheel of tick slots.
+ * Remaining time is worked out on read, and each tick only visits the slot that tick falls in.
+ * <p>
+ * The client bumps its tick count right after posting GameTick, so a countdown of n started from an event reads
+ * n there, n - 1 down to 0 between the following ticks, and expires on the GameTick its deadline falls on. That
+ * is the same lifetime the removeIf/decrement maps it replaced gave, as long as {@link #advance} runs on GameTick.
+ */
+public final class TickTimerWheel<K>
+{
+	// Power of two so the slot is a mask of the expiry tick, anything scheduled further out waits extra turns
+	private static final int SLOTS = 64;
+	private static final int MASK = SLOTS - 1;
+
+	// Each key has one entry, which holds its deadline and is linked into the slot that deadline expires in
+	private final Map<K, Entry<K>> entries = new HashMap<>();
+	private final Entry<?>[] heads = new Entry<?>[SLOTS];
+
+	// Keys expired by the sweep in progress, their callbacks run once the slot is no longer being walked
+	private final List<K> expired = new ArrayList<>();
+
+	@Nullable
+	private final Consumer<K> onExpire;
+
+	private int lastTick = -1;
+
+	public TickTimerWheel()
+	{
+		this(null);
+	}
+
+	public TickTimerWheel(@Nullable Consumer<K> onExpire)
+	{
+		this.onExpire = onExpire;
+	}
+
+	/**
+	 * Keeps the key alive for the given number of ticks from now, replacing any deadline it already had.
+	 */
+	public void schedule(K key, int now, int ticks)
+	{
+		int deadline = now + Math.max(0, ticks);
+		Entry<K> entry = entries.get(key);
+
+		if (entry == null)
+		{
+			entry = new Entry<>(key);
+			entries.put(key, entry);
+		}
+		else
+		{
+			unlink(entry);
+		}
+
+		entry.deadline = deadline;
+
+		// A deadline the wheel has already swept past waits for the next tick instead of a full turn
+		link(entry, Math.max(deadline, lastTick + 1) & MASK);
+	}
+
+	public void scheduleIfAbsent(K key, int now, int ticks)
+	{
+		if (!entries.containsKey(key))
+		{
+			schedule(key, now, ticks);
+		}
+	}
+
+	/**
+	 * Ticks left before the key expires, or -1 when it isn't scheduled.
+	 */
+	public int remaining(K key, int now)
+	{
+		Entry<K> entry = entries.get(key);
+		return entry == null ? -1 : Math.max(0, entry.deadline - now);
+	}
+
+	public boolean contains(K key)
+	{
+		return entries.containsKey(key);
+	}
+
+	/**
+	 * Cancels the key without firing the expiry callback.
+	 */
+	public boolean remove(K key)
+	{
+		Entry<K> entry = entries.remove(key);
+
+		if (entry == null)
+		{
+			return false;
+		}
+
+		unlink(entry);
+		return true;
+	}
+
+	public boolean isEmpty()
+	{
+		return entries.isEmpty();
+	}
+
+	public int size()
+	{
+		return entries.size();
+	}
+
+	public void forEach(int now, ObjIntConsumer<K> action)
+	{
+		entries.forEach((key, entry) -> action.accept(key, Math.max(0, entry.deadline - now)));
+	}
+
+	public void clear()
+	{
+		entries.clear();
+		Arrays.fill(heads, null);
+		lastTick = -1;
+	}
+
+	/**
+	 * Expires everything due on or before this tick, catching up on any ticks missed since the last call.
+	 */
+	public void advance(int now)
+	{
+		int from = lastTick < 0 || now - lastTick > SLOTS ? now - MASK : lastTick + 1;
+		lastTick = now;
+
+		if (entries.isEmpty())
+		{
+			return;
+		}
+
+		for (int tick = from; tick <= now; tick++)
+		{
+			sweep(tick & MASK, now);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void sweep(int index, int now)
+	{
+		Entry<K> entry = (Entry<K>) heads[index];
+
+		// Entries a full turn or more away share the slot, they are only due once their own deadline is reached
+		while (entry != null)
+		{
+			Entry<K> next = entry.next;
+
+			if (entry.deadline <= now)
+			{
+				unlink(entry);
+				entries.remove(entry.key);
+				expired.add(entry.key);
+			}
+
+			entry = next;
+		}
+
+		if (expired.isEmpty())
+		{
+			return;
+		}
+
+		if (onExpire != null)
+		{
+			for (int i = 0; i < expired.size(); i++)
+			{
+				onExpire.accept(expired.get(i));
+			}
+		}
+
+		expired.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void link(Entry<K> entry, int index)
+	{
+		Entry<K> head = (Entry<K>) heads[index];
+
+		entry.slot = index;
+		entry.prev = null;
+		entry.next = head;
+
+		if (head != null)
+		{
+			head.prev = entry;
+		}
+
+		heads[index] = entry;
+	}
+
+	private void unlink(Entry<K> entry)
+	{
+		if (entry.prev != null)
+		{
+			entry.prev.next = entry.next;
+		}
+		else
+		{
+			heads[entry.slot] = entry.next;
+		}
+
+		if (entry.next != null)
+		{
+			entry.next.prev = entry.prev;
+		}
+
+		entry.prev = null;
+		entry.next = null;
+	}
+
+	private static final class Entry<K>
+	{
+		private final K key;
+		private int deadline;
+		private int slot;
+
+		@Nullable
+		private Entry<K> prev;
+
+		@Nullable
+		private Entry<K> next;
+
+		private Entry(K key)
+		{
+			this.key = key;
+		}
+	}
+}
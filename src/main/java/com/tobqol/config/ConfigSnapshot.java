@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.config;
+
+import com.tobqol.TheatreQOLConfig;
+import com.tobqol.config.times.TimeDisplayType;
+import com.tobqol.rooms.sotetseg.config.SotetsegInstanceTimerTypes;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.awt.*;
+
+/**
+ * Copy of the config values read while rendering or every tick, so those paths don't go through the config proxy.
+ * The plugin builds a new one whenever the config group changes.
+ */
+@Getter
+@Accessors(fluent = true)
+public final class ConfigSnapshot
+{
+	// Ver Sinhaza
+	private final boolean lightUp;
+	private final boolean bankAllMES;
+	private final SupplyChestPreference supplyChestMES;
+	private final boolean lootReminder;
+	private final Color lootReminderColor;
+	private final boolean salveReminder;
+	private final boolean spellbookReminder;
+	private final boolean ammoReminder;
+	private final Color ammoReminderColor;
+
+	// Maiden
+	private final HPDisplayTypes maidenCrabHPType;
+	private final boolean displayCrabProc;
+	private final Color maiden70sColor;
+	private final Color maiden50sColor;
+	private final Color maiden30sColor;
+	private final boolean maidenLowDetail;
+
+	// Nylocas
+	private final boolean showNylocasPillarHP;
+	private final boolean nyloWavesBigsSWTile;
+	private final boolean nyloLowDetail;
+
+	// Sotetseg
+	private final SotetsegInstanceTimerTypes sotetsegInstanceTimerType;
+	private final boolean hideSotetsegWhiteScreen;
+	private final boolean showSotetsegChosenText;
+	private final int sotetsegChosenTextOffset;
+	private final boolean debugSotetsegChosenText;
+
+	// Xarpus
+	private final boolean displayXarpusInstanceTimer;
+	private final boolean xarpusLowDetail;
+
+	// Verzik
+	private final boolean verzikReds;
+	private final boolean markVerzikTornadoes;
+	private final Color verzikMarkedTornadoColor;
+	private final boolean verzikLowDetail;
+	private final boolean muteVerzikSounds;
+
+	// Miscellaneous
+	private final int instanceTimerOffset;
+	private final TimeDisplayType displayRoomTimes;
+	private final boolean displayTimeSplitDifferences;
+	private final boolean shrunkLiveTimerDesign;
+
+	public ConfigSnapshot(TheatreQOLConfig config)
+	{
+		lightUp = config.lightUp();
+		bankAllMES = config.bankAllMES();
+		supplyChestMES = config.supplyChestMES();
+		lootReminder = config.lootReminder();
+		lootReminderColor = config.lootReminderColor();
+		salveReminder = config.salveReminder();
+		spellbookReminder = config.spellbookReminder();
+		ammoReminder = config.ammoReminder();
+		ammoReminderColor = config.ammoReminderColor();
+
+		maidenCrabHPType = config.getMaidenCrabHPType();
+		displayCrabProc = config.displayCrabProc();
+		maiden70sColor = config.maiden70sColor();
+		maiden50sColor = config.maiden50sColor();
+		maiden30sColor = config.maiden30sColor();
+		maidenLowDetail = config.maidenLowDetail();
+
+		showNylocasPillarHP = config.showNylocasPillarHP();
+		nyloWavesBigsSWTile = config.nyloWavesBigsSWTile();
+		nyloLowDetail = config.nyloLowDetail();
+
+		sotetsegInstanceTimerType = config.getSotetsegInstanceTimerType();
+		hideSotetsegWhiteScreen = config.hideSotetsegWhiteScreen();
+		showSotetsegChosenText = config.showSotetsegChosenText();
+		sotetsegChosenTextOffset = config.sotetsegChosenTextOffset();
+		debugSotetsegChosenText = config.debugSotetsegChosenText();
+
+		displayXarpusInstanceTimer = config.displayXarpusInstanceTimer();
+		xarpusLowDetail = config.xarpusLowDetail();
+
+		verzikReds = config.verzikReds();
+		markVerzikTornadoes = config.shouldMarkVerzikTornadoes();
+		verzikMarkedTornadoColor = config.verzikMarkedTornadoColor();
+		verzikLowDetail = config.verzikLowDetail();
+		muteVerzikSounds = config.muteVerzikSounds();
+
+		instanceTimerOffset = config.instanceTimerOffset();
+		displayRoomTimes = config.displayRoomTimes();
+		displayTimeSplitDifferences = config.displayTimeSplitDifferences();
+		shrunkLiveTimerDesign = config.shrunkLiveTimerDesign();
+	}
+}
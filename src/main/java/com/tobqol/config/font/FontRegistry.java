@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.config.font;
+
+import com.tobqol.TheatreQOLConfig;
+import net.runelite.client.ui.FontManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Builds the plugin's fonts once per change of the font config keys and hands overlays the same instances every frame.
+ */
+@Singleton
+public final class FontRegistry
+{
+	public static final Font SHRUNK_TIMER_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 11);
+
+	private static final int CHOSEN_TEXT_SIZE = 20;
+
+	private final TheatreQOLConfig config;
+
+	private volatile Font pluginFont;
+	private volatile Font instanceTimerFont;
+	private volatile Font chosenTextFont;
+
+	// Replaced rather than cleared whenever a font is rebuilt, metrics of fonts no longer in use just drop away
+	private volatile Map<Font, FontMetrics> metrics = new IdentityHashMap<>();
+
+	@Inject
+	FontRegistry(TheatreQOLConfig config)
+	{
+		this.config = config;
+	}
+
+	public void build()
+	{
+		pluginFont = buildPluginFont();
+		instanceTimerFont = new Font(pluginFont.getName(), pluginFont.getStyle(), config.instanceTimerSize());
+		chosenTextFont = new Font(config.fontType().getName(), config.fontStyle().getValue(), CHOSEN_TEXT_SIZE);
+		metrics = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Rebuilds the fonts affected by the config key, returning false for keys that no font depends on.
+	 */
+	public boolean invalidate(String key)
+	{
+		switch (key)
+		{
+			case "fontType":
+			case "fontSize":
+			case "fontStyle":
+				build();
+				return true;
+			case "instanceTimerSize":
+				instanceTimerFont = new Font(pluginFont.getName(), pluginFont.getStyle(), config.instanceTimerSize());
+				metrics = new IdentityHashMap<>();
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	public Font getPluginFont()
+	{
+		return pluginFont;
+	}
+
+	public Font getInstanceTimerFont()
+	{
+		return instanceTimerFont;
+	}
+
+	public Font getChosenTextFont()
+	{
+		return chosenTextFont;
+	}
+
+	/**
+	 * Metrics for the font as drawn by the graphics, reused until the font or the render context changes.
+	 */
+	public FontMetrics getMetrics(Graphics2D graphics, Font font)
+	{
+		Map<Font, FontMetrics> metrics = this.metrics;
+		FontMetrics fontMetrics = metrics.get(font);
+
+		if (fontMetrics == null || !fontMetrics.getFontRenderContext().equals(graphics.getFontRenderContext()))
+		{
+			fontMetrics = graphics.getFontMetrics(font);
+			metrics.put(font, fontMetrics);
+		}
+
+		return fontMetrics;
+	}
+
+	private Font buildPluginFont()
+	{
+		String font = null;
+		int style = config.fontStyle().getValue();
+
+		switch (config.fontType().getName())
+		{
+			case "RS Regular":
+				font = FontManager.getRunescapeFont().getName();
+				style = FontManager.getRunescapeFont().getStyle();
+				break;
+
+			case "RS Bold":
+				font = FontManager.getRunescapeBoldFont().getName();
+				style = FontManager.getRunescapeBoldFont().getStyle();
+				break;
+
+			case "RS Small":
+				font = FontManager.getRunescapeSmallFont().getName();
+				style = FontManager.getRunescapeSmallFont().getStyle();
+				break;
+		}
+
+		return new Font(font == null ? config.fontStyle().getStyle() : font, style, font == null ? config.fontSize() : 16);
+	}
+}
@@ -25,19 +25,22 @@
  */
 package com.tobqol.rooms;
 
+import com.tobqol.DeferredWorkQueue;
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
 import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.NpcSlotMap;
 import com.tobqol.api.game.Region;
 import com.tobqol.api.game.SceneManager;
+import com.tobqol.api.game.TileTrigger;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
-import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.chat.ChatMessageBuilder;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.chat.QueuedMessage;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
@@ -47,10 +50,12 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.sound.sampled.*;
 import java.io.BufferedInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.BiFunction;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.tobqol.api.game.Region.inRegion;
@@ -60,11 +65,6 @@ import static lombok.AccessLevel.PROTECTED;
 @Slf4j
 public abstract class RoomHandler
 {
-	public static final Predicate<Integer> VALUE_IS_ZERO = v -> v <= 0;
-
-	public static final BiFunction<Object, Integer, Integer> INCREMENT_VALUE = (k, v) -> ++v;
-	public static final BiFunction<Object, Integer, Integer> DECREMENT_VALUE = (k, v) -> --v;
-
 	protected final TheatreQOLPlugin plugin;
 	protected final TheatreQOLConfig config;
 
@@ -92,9 +92,23 @@ public abstract class RoomHandler
 	@Inject
 	protected InfoBoxManager infoBoxManager;
 
+	@Inject
+	private DeferredWorkQueue deferredWork;
+
+	private static final Map<String, Clip> SOUND_CLIPS = new HashMap<>();
+
 	@Getter(PROTECTED)
 	private Region roomRegion = Region.UNKNOWN;
 
+	// Raid epoch the room state was last reset for
+	private int epoch = -1;
+
+	// Every NPC keyed collection the room owns, evicted from centrally so a missed despawn can't hold on to an NPC
+	private final List<NpcSlotMap<?>> npcSlots = new ArrayList<>();
+
+	// NPCs the room has seen die, dropped with the rest of its slots once they despawn
+	private final NpcSlotMap<Boolean> deadNpcs = npcSlots();
+
 	@Inject
 	protected RoomHandler(TheatreQOLPlugin plugin, TheatreQOLConfig config)
 	{
@@ -117,6 +131,136 @@ public abstract class RoomHandler
 
 	public abstract void reset();
 
+	/**
+	 * Resets the room if the raid has been reset since it last synced, repeat calls within the same epoch are free.
+	 */
+	public final boolean sync()
+	{
+		int raidEpoch = instance.getRaidEpoch();
+
+		if (epoch == raidEpoch)
+		{
+			return false;
+		}
+
+		epoch = raidEpoch;
+		deadNpcs.clear();
+		reset();
+
+		int live = getLiveNpcSlots();
+
+		if (live > 0)
+		{
+			log.debug("{} kept {} npc slots through a reset", getClass().getSimpleName(), live);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Runs the task on a later frame unless the raid has been reset in the meantime, for work the player won't miss a tick of.
+	 */
+	protected final void defer(Runnable task)
+	{
+		// The raid epoch rather than the room's own, which stands still while the room is off the bus
+		final int submitted = instance.getRaidEpoch();
+
+		deferredWork.submit(() ->
+		{
+			if (instance.getRaidEpoch() == submitted)
+			{
+				task.run();
+			}
+		});
+	}
+
+	/**
+	 * Creates an NPC keyed map owned by this room, its slots are dropped when the NPC despawns or leaves the scene.
+	 */
+	protected final <T> NpcSlotMap<T> npcSlots()
+	{
+		return npcSlots(null);
+	}
+
+	/**
+	 * As {@link #npcSlots()}, with every value the map drops handed to the release callback.
+	 */
+	protected final <T> NpcSlotMap<T> npcSlots(@Nullable Consumer<? super T> onRelease)
+	{
+		NpcSlotMap<T> slots = new NpcSlotMap<>(onRelease);
+		npcSlots.add(slots);
+		return slots;
+	}
+
+	public final void evictNpc(NPC npc)
+	{
+		for (NpcSlotMap<?> slots : npcSlots)
+		{
+			slots.remove(npc);
+		}
+	}
+
+	/**
+	 * Drops slots held for NPCs the client no longer knows about.
+	 */
+	public final void evictStaleNpcs(IndexedObjectSet<? extends NPC> npcs)
+	{
+		for (NpcSlotMap<?> slots : npcSlots)
+		{
+			if (!slots.isEmpty())
+			{
+				slots.removeIf((npc, v) -> npcs.byIndex(npc.getIndex()) != npc);
+			}
+		}
+	}
+
+	/**
+	 * Number of NPC slots currently held across the room's maps, anything left once the room is empty has leaked.
+	 */
+	public final int getLiveNpcSlots()
+	{
+		int live = 0;
+
+		for (NpcSlotMap<?> slots : npcSlots)
+		{
+			live += slots.size();
+		}
+
+		return live;
+	}
+
+	/**
+	 * Config changes still need to reach rooms the dispatcher has taken off the event bus, subclasses subscribe by overriding this.
+	 */
+	public void onConfigChanged(ConfigChanged e)
+	{
+	}
+
+	/**
+	 * Records an NPC the room has seen die, the draw hook may leave it out of the scene until it despawns.
+	 */
+	protected final void recordDead(NPC npc)
+	{
+		deadNpcs.put(npc, Boolean.TRUE);
+	}
+
+	/**
+	 * Whether the room has recorded the NPC as dead and its low detail option lets it be left out of the scene.
+	 * Asked for every NPC drawn while the room is on the event bus, so this is a single slot read.
+	 */
+	public final boolean isCulled(NPC npc)
+	{
+		return deadNpcs.containsKey(npc) && cullsDeadNpcs();
+	}
+
+	/**
+	 * Rooms opt in to culling the NPCs they record as dead by overriding this.
+	 */
+	protected boolean cullsDeadNpcs()
+	{
+		return false;
+	}
+
 	protected final void setRoomRegion(Region region)
 	{
 		if (!roomRegion.isUnknown())
@@ -146,13 +290,17 @@ public abstract class RoomHandler
 
 	protected final boolean isInRoomRegion()
 	{
-		if (roomRegion.isUnknown())
+		return isRoomRegion(instance.getCurrentRegion());
+	}
+
+	public final boolean isRoomRegion(Region region)
+	{
+		if (roomRegion.isUnknown() || region == null)
 		{
 			return false;
 		}
 
-		Region current = instance.getCurrentRegion();
-		return roomRegion.equals(current) || (roomRegion.isSotetseg() && current.isSotetseg());
+		return roomRegion.equals(region) || (roomRegion.isSotetseg() && region.isSotetseg());
 	}
 
 	protected static boolean isNpcFromName(NPC npc, String name)
@@ -240,33 +388,18 @@ public abstract class RoomHandler
 		chatMessageManager.queue(QueuedMessage.builder().type(type).runeLiteFormattedMessage(message).build());
 	}
 
-	public static boolean crossedLine(Region region, Point start, Point end, boolean vertical, Client client)
+	/**
+	 * @param line region-local tiles, tested against each player's world location without leaving the instance
+	 */
+	public static boolean crossedLine(Region region, TileTrigger line, Client client)
 	{
 		if (inRegion(client, region))
 		{
 			for (Player p : client.getTopLevelWorldView().players())
 			{
-				WorldPoint wp = p.getWorldLocation();
-
-				if (vertical)
+				if (line.contains(p.getWorldLocation()))
 				{
-					for (int i = start.getY(); i < end.getY() + 1; i++)
-					{
-						if (wp.getRegionY() == i && wp.getRegionX() == start.getX())
-						{
-							return true;
-						}
-					}
-				}
-				else
-				{
-					for (int i = start.getX(); i < end.getX() + 1; i++)
-					{
-						if (wp.getRegionX() == i && wp.getRegionY() == start.getY())
-						{
-							return true;
-						}
-					}
+					return true;
 				}
 			}
 		}
@@ -274,29 +407,55 @@ public abstract class RoomHandler
 		return false;
 	}
 
-	public Clip generateSoundClip(String clipName, int volume)
+	/**
+	 * Decodes the clip the first time any room asks for it, rooms playing the same file share the one Clip.
+	 */
+	@Nullable
+	protected static synchronized Clip loadSoundClip(String clipName)
+	{
+		return SOUND_CLIPS.computeIfAbsent(clipName, RoomHandler::generateSoundClip);
+	}
+
+	protected static void playSoundClip(@Nullable Clip soundClip, int volume)
 	{
-		Clip soundClip;
+		if (soundClip == null)
+		{
+			return;
+		}
+
+		FloatControl control = (FloatControl) soundClip.getControl(FloatControl.Type.MASTER_GAIN);
+
+		if (control != null)
+		{
+			control.setValue((float)(volume / 2 - 45));
+		}
 
+		soundClip.setFramePosition(0);
+		soundClip.start();
+	}
+
+	public static synchronized void closeSoundClips()
+	{
+		SOUND_CLIPS.values().forEach(Clip::close);
+		SOUND_CLIPS.clear();
+	}
+
+	@Nullable
+	private static Clip generateSoundClip(String clipName)
+	{
 		try
 		{
 			AudioInputStream stream = AudioSystem.getAudioInputStream(new BufferedInputStream(TheatreQOLPlugin.class.getResourceAsStream(clipName)));
 			AudioFormat format = stream.getFormat();
 			DataLine.Info info = new DataLine.Info(Clip.class, format);
-			soundClip = (Clip)AudioSystem.getLine(info);
+			Clip soundClip = (Clip)AudioSystem.getLine(info);
 			soundClip.open(stream);
-			FloatControl control = (FloatControl) soundClip.getControl(FloatControl.Type.MASTER_GAIN);
-
-			if (control != null)
-			{
-				control.setValue((float)(volume / 2 - 45));
-			}
-
 			return soundClip;
 		}
 		catch (Exception ex)
 		{
+			log.debug("Failed to load sound clip {}", clipName, ex);
 			return null;
 		}
 	}
-}
\ No newline at end of file
+}
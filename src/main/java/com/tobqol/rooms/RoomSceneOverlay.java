@@ -29,8 +29,8 @@ import com.google.common.collect.Multimap;
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
 import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.NpcRegistry;
 import com.tobqol.api.util.TriConsumer;
-import com.tobqol.rooms.sotetseg.commons.SotetsegTable;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Point;
 import net.runelite.api.*;
@@ -92,7 +92,7 @@ public abstract class RoomSceneOverlay<R extends RoomHandler> extends Overlay
 		String text = Integer.toString(tickCycle);
 
 		Color color;
-		if (npc != null && (SotetsegTable.anyMatch(SOTETSEG_CLICKABLE, npc.getId()) || SotetsegTable.anyMatch(SOTETSEG_NOT_CLICKABLE, npc.getId())))
+		if (npc != null && (NpcRegistry.is(npc.getId(), SOTETSEG_CLICKABLE) || NpcRegistry.is(npc.getId(), SOTETSEG_NOT_CLICKABLE)))
 		{
 			color = tickCycle == 3 ? Color.GREEN.brighter() : Color.RED.brighter();
 		}
@@ -101,7 +101,7 @@ public abstract class RoomSceneOverlay<R extends RoomHandler> extends Overlay
 			color = tickCycle > 0 ? Color.RED.brighter() : Color.GREEN.brighter();
 		}
 
-		Point textLocation = player.getCanvasTextLocation(graphics, text, player.getLogicalHeight() + 60 + (config.instanceTimerOffset() * 10));
+		Point textLocation = player.getCanvasTextLocation(graphics, text, player.getLogicalHeight() + 60 + (plugin.getConfigSnapshot().instanceTimerOffset() * 10));
 
 		if (textLocation != null)
 		{
@@ -27,11 +27,15 @@ package com.tobqol.rooms.bloat;
 
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
+import com.tobqol.api.game.NpcRegistry;
 import com.tobqol.api.game.Region;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
 import com.tobqol.rooms.RoomHandler;
 import com.tobqol.rooms.bloat.commons.BloatConstants;
 import com.tobqol.rooms.bloat.commons.BloatTable;
 import com.tobqol.tracking.RoomDataHandler;
+import com.tobqol.tracking.RoomDataKeys;
 import com.tobqol.tracking.RoomDataItem;
 import com.tobqol.tracking.RoomInfoBox;
 import com.tobqol.tracking.RoomInfoUtil;
@@ -40,22 +44,21 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.GameState;
 import net.runelite.api.NPC;
-import net.runelite.api.Point;
 import net.runelite.api.events.*;
 import net.runelite.client.chat.ChatColorType;
 import net.runelite.client.chat.ChatMessageBuilder;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
-import net.runelite.client.util.Text;
 
 import javax.annotation.CheckForNull;
 import javax.inject.Inject;
 import java.awt.*;
+import java.util.function.Supplier;
 
-import static com.tobqol.api.game.RaidConstants.THEATRE_OF_BLOOD_ROOM_STATUS;
 import static com.tobqol.api.game.Region.BLOAT;
-import static com.tobqol.api.game.Region.inRegion;
 import static com.tobqol.rooms.bloat.commons.BloatConstants.*;
+import static com.tobqol.tracking.RoomDataKeys.*;
+import static com.tobqol.tracking.RoomInfoUtil.appendTime;
 import static com.tobqol.tracking.RoomInfoUtil.formatTime;
 
 @Getter
@@ -107,11 +110,12 @@ public class BloatHandler extends RoomHandler
 	@Override
 	public boolean active()
 	{
-		return inRegion(client, BLOAT);
+		return instance.getLocation().isIn(BLOAT);
 	}
 
 	@Subscribe
-	private void onConfigChanged(ConfigChanged e)
+	@Override
+	public void onConfigChanged(ConfigChanged e)
 	{
 		if (!e.getGroup().equals(TheatreQOLConfig.GROUP_NAME))
 		{
@@ -121,7 +125,7 @@ public class BloatHandler extends RoomHandler
 		switch (e.getKey())
 		{
 			case "hideCeilingChains":
-				when(config.shouldNullCeilingChains(), this::nullCeilingChains, sceneManager::refreshScene);
+				when(config.shouldNullCeilingChains(), this::nullCeilingChains, this::restoreCeilingChains);
 				break;
 		}
 	}
@@ -147,7 +151,7 @@ public class BloatHandler extends RoomHandler
 
 		isNpcFromName(e.getNpc(), BloatConstants.BOSS_NAME, n ->
 		{
-			instance.lazySetMode(() -> BloatTable.findMode(n.getId()));
+			instance.lazySetMode(() -> NpcRegistry.mode(n.getId()));
 			bloatNpc = n;
 		});
 
@@ -170,28 +174,21 @@ public class BloatHandler extends RoomHandler
 	{
 		if (instance.isInRaid() && instance.getCurrentRegion().isBloat())
 		{
-			if (!dataHandler.Find("Starting Tick").isPresent() && crossedLine(BLOAT, new Point(39, 30), new Point(39, 33), true, client))
+			if (instance.getRoomStatus() == 1 && !dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
 				dataHandler.setShouldTrack(true);
 			}
 
-			if (!dataHandler.getData().isEmpty() && dataHandler.isShouldTrack())
+			if (!dataHandler.contains(STARTING_TICK) && crossedLine(BLOAT, START_LINE, client))
 			{
-				dataHandler.updateTotalTime();
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+				dataHandler.setShouldTrack(true);
 			}
-		}
-	}
 
-	@Subscribe
-	private void onVarbitChanged(VarbitChanged event)
-	{
-		if (instance.isInRaid() && instance.getCurrentRegion().isBloat() && !dataHandler.Find("Starting Tick").isPresent())
-		{
-			if (client.getVarbitValue(THEATRE_OF_BLOOD_ROOM_STATUS) == 1)
+			if (!dataHandler.isEmpty() && dataHandler.isShouldTrack())
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
-				dataHandler.setShouldTrack(true);
+				dataHandler.updateTotalTime();
 			}
 		}
 	}
@@ -209,33 +206,31 @@ public class BloatHandler extends RoomHandler
 		if (npc == bloatNpc && npc.getAnimation() == DOWN_ANIM)
 		{
 			downs++;
-			dataHandler.getData().add(new RoomDataItem("Down " + downs, dataHandler.getTime(), downs, true));
+			dataHandler.add(new RoomDataItem("Down " + downs, dataHandler.getTime(), downs, true));
 		}
 	}
 
 	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	public void onTheatreChatMessage(TheatreChatMessage event)
 	{
-		if (!active() || event.getType() != ChatMessageType.GAMEMESSAGE || !dataHandler.Find("Starting Tick").isPresent())
+		if (!active() || !dataHandler.contains(STARTING_TICK))
 		{
 			return;
 		}
 
-		String stripped = Text.removeTags(event.getMessage());
-
-		if (BLOAT_WAVE.matcher(stripped).find())
+		if (event.getType() == TheatreMessage.BLOAT_COMPLETE)
 		{
 			dataHandler.setShouldTrack(false);
-			dataHandler.Find("Room").get().setValue(dataHandler.getTime());
+			dataHandler.setValue(ROOM, dataHandler.getTime());
 
 			if (config.displayRoomTimes().isInfobox())
 			{
-				buildInfobox();
+				defer(this::buildInfobox);
 			}
 
 			if (config.displayRoomTimes().isChat())
 			{
-				sendChatTimes();
+				defer(this::sendChatTimes);
 			}
 		}
 	}
@@ -245,69 +240,86 @@ public class BloatHandler extends RoomHandler
 		sceneManager.removeTheseGameObjects(1, BloatTable.CEILING_CHAINS);
 	}
 
+	private void restoreCeilingChains()
+	{
+		sceneManager.restoreTheseGameObjects(1, BloatTable.CEILING_CHAINS);
+	}
+
 	private void buildInfobox()
 	{
-		if (dataHandler.FindValue("Starting Tick") > 0)
+		if (dataHandler.getValue(STARTING_TICK) > 0)
 		{
-			String roomTime = formatTime(dataHandler.FindValue("Room"));
-			StringBuilder tooltip = new StringBuilder();
+			final String roomTime = formatTime(dataHandler.getValue(ROOM));
+			Supplier<String> tooltip;
 
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
-				if (config.trackDowns())
+				final boolean trackDowns = config.trackDowns();
+				final int[] downTimes = new int[downs];
+
+				for (int i = 0; i < downs; i++)
 				{
-					if (downs > 0)
-					{
-						dataHandler.getData().forEach(d ->
-						{
-							if (d.getName().contains("Down"))
-							{
-								tooltip.append(d.getName() + " - " + formatTime(dataHandler.FindValue("Down " + d.getSort())) +
-										(d.getSort() > 1 ? formatTime(dataHandler.FindValue("Down " + d.getSort()), dataHandler.FindValue("Down " + (d.getSort() - 1))) : "") + "</br>");
-							}
-						});
-					}
-					else
-					{
-						tooltip.append("No downs");
-					}
+					downTimes[i] = dataHandler.getValue(RoomDataKeys.down(i + 1));
 				}
 
-				tooltip.append("Complete - " + roomTime);
+				tooltip = () -> buildTooltip(trackDowns, downTimes, roomTime);
 			}
 			else
 			{
-				tooltip.append("Complete - " + roomTime + "*");
+				tooltip = () -> "Complete - " + roomTime + "*";
 			}
 
-
-			bloatInfoBox = RoomInfoUtil.createInfoBox(plugin, config, itemManager.getImage(BOSS_IMAGE), "Bloat", roomTime, tooltip.toString());
+			bloatInfoBox = RoomInfoUtil.createInfoBox(plugin, itemManager.getImage(BOSS_IMAGE), "Bloat", roomTime, tooltip);
 			plugin.infoBoxManager.addInfoBox(bloatInfoBox);
 		}
 	}
 
+	private static String buildTooltip(boolean trackDowns, int[] downTimes, String roomTime)
+	{
+		StringBuilder tooltip = new StringBuilder();
+
+		if (trackDowns)
+		{
+			if (downTimes.length > 0)
+			{
+				for (int i = 0; i < downTimes.length; i++)
+				{
+					appendTime(downTimes[i], tooltip.append(RoomDataKeys.name(RoomDataKeys.down(i + 1))).append(" - "));
+
+					if (i > 0)
+					{
+						appendTime(downTimes[i], downTimes[i - 1], tooltip);
+					}
+
+					tooltip.append("</br>");
+				}
+			}
+			else
+			{
+				tooltip.append("No downs");
+			}
+		}
+
+		return tooltip.append("Complete - ").append(roomTime).toString();
+	}
+
 	private void sendChatTimes()
 	{
-		if (dataHandler.Find("Starting Tick").isPresent())
+		if (dataHandler.contains(STARTING_TICK))
 		{
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
 				if (downs > 0 && config.trackDowns())
 				{
 					ChatMessageBuilder chatMessageBuilder = new ChatMessageBuilder();
 
-					int downsRemaining = downs - 1;
-
-					for (RoomDataItem d : dataHandler.getData())
+					for (int i = 1; i <= downs; i++)
 					{
-						if (d.getName().contains("Down"))
-						{
-							chatMessageBuilder.append(Color.RED, d.getName())
-									.append(ChatColorType.NORMAL)
-									.append(" - " + formatTime(d.getValue()) + (d.getSort() > 1 ? formatTime(d.getValue(), dataHandler.FindValue("Down " + (d.getSort() - 1))) : "") + (downsRemaining > 0 ? " - " : ""));
-
-							downsRemaining--;
-						}
+						int down = dataHandler.getValue(RoomDataKeys.down(i));
+
+						chatMessageBuilder.append(Color.RED, RoomDataKeys.name(RoomDataKeys.down(i)))
+								.append(ChatColorType.NORMAL)
+								.append(" - " + formatTime(down) + (i > 1 ? formatTime(down, dataHandler.getValue(RoomDataKeys.down(i - 1))) : "") + (i < downs ? " - " : ""));
 					}
 
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, chatMessageBuilder);
@@ -318,7 +330,7 @@ public class BloatHandler extends RoomHandler
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Bloat - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("Down " + downs))));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + formatTime(dataHandler.getValue(ROOM), dataHandler.getValue(RoomDataKeys.down(downs)))));
 				}
 			}
 			else
@@ -328,7 +340,7 @@ public class BloatHandler extends RoomHandler
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Bloat - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + "*"));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + "*"));
 				}
 			}
 		}
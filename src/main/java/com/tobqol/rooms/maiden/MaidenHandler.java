@@ -27,6 +27,11 @@ package com.tobqol.rooms.maiden;
 
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
+import com.tobqol.api.game.NpcRegistry;
+import com.tobqol.api.game.NpcSlotMap;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
+import com.tobqol.api.util.ObjectPool;
 import com.tobqol.rooms.RoomHandler;
 import com.tobqol.rooms.maiden.commons.MaidenHealth;
 import com.tobqol.rooms.maiden.commons.MaidenPhase;
@@ -43,18 +48,19 @@ import net.runelite.api.NPC;
 import net.runelite.api.events.*;
 import net.runelite.client.chat.ChatColorType;
 import net.runelite.client.eventbus.Subscribe;
-import net.runelite.client.util.Text;
 
 import javax.annotation.CheckForNull;
 import javax.inject.Inject;
 import java.awt.*;
 import java.util.List;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static com.tobqol.api.game.Region.MAIDEN;
-import static com.tobqol.api.game.Region.inRegion;
 import static com.tobqol.rooms.maiden.commons.MaidenConstants.*;
+import static com.tobqol.tracking.RoomDataKeys.*;
 import static com.tobqol.tracking.RoomInfoUtil.createInfoBox;
+import static com.tobqol.tracking.RoomInfoUtil.formatSplits;
 import static com.tobqol.tracking.RoomInfoUtil.formatTime;
 import static lombok.AccessLevel.NONE;
 
@@ -72,14 +78,20 @@ public class MaidenHandler extends RoomHandler
 
 	private RoomInfoBox maidenInfoBox;
 
+	private static final String[] TOOLTIP_SPLITS = { "70%", "50%", "30%", "Complete" };
+
 	@CheckForNull
 	private MaidenHealth health = null;
 
 	private MaidenPhase phase = MaidenPhase.OTHER;
 
-	private final List<NPC> bloodSpawns = new ArrayList<>();
+	private final NpcSlotMap<NPC> bloodSpawns = npcSlots();
+
+	private final NpcSlotMap<MaidenRedCrab> crabsMap = npcSlots(this::releaseCrab);
 
-	private final Map<Integer, MaidenRedCrab> crabsMap = new HashMap<>();
+	// A full spawn is ten crabs, a couple of spawns can overlap before the earlier ones die off
+	@Getter(NONE) // Omit Lombok's Getter
+	private final ObjectPool<MaidenRedCrab> crabPool = new ObjectPool<>(MaidenRedCrab::new, 32);
 
 	@Getter(NONE) // Omit Lombok's Getter
 	private final List<MaidenRedCrab> crabs_buffer = new ArrayList<>();
@@ -131,7 +143,13 @@ public class MaidenHandler extends RoomHandler
 	@Override
 	public boolean active()
 	{
-		return inRegion(client, MAIDEN) && maidenNpc != null && !maidenNpc.isDead();
+		return instance.getLocation().isIn(MAIDEN) && maidenNpc != null && !maidenNpc.isDead();
+	}
+
+	@Override
+	protected boolean cullsDeadNpcs()
+	{
+		return plugin.getConfigSnapshot().maidenLowDetail();
 	}
 
 	@Subscribe
@@ -141,28 +159,28 @@ public class MaidenHandler extends RoomHandler
 
 		if (active())
 		{
-			isNpcFromName(npc, MaidenTable.BLOOD_SPAWN_NAME, (n -> bloodSpawns.add(npc)));
+			isNpcFromName(npc, MaidenTable.BLOOD_SPAWN_NAME, (n -> bloodSpawns.put(n, n)));
 			isNpcFromName(npc, MaidenTable.RED_CRAB_NAME, n ->
 			{
-				crabsMap.put(n.getIndex(), new MaidenRedCrab(client, instance, n, phase));
+				crabsMap.put(n, crabPool.obtain().init(client, instance, n, phase));
 
-				if (!dataHandler.getData().isEmpty() & considerCrabs)
+				if (!dataHandler.isEmpty() & considerCrabs)
 				{
 					considerCrabs = false;
 
-					if (!dataHandler.Find("70s").isPresent())
+					if (!dataHandler.contains(MAIDEN_70S))
 					{
-						dataHandler.getData().add(new RoomDataItem("70s", dataHandler.getTime(), 1, !config.displayTimeSplits()));
+						dataHandler.add(new RoomDataItem("70s", dataHandler.getTime(), 1, !config.displayTimeSplits()));
 						return;
 					}
-					else if (!dataHandler.Find("50s").isPresent() && dataHandler.Find("70s").isPresent())
+					else if (!dataHandler.contains(MAIDEN_50S) && dataHandler.contains(MAIDEN_70S))
 					{
-						dataHandler.getData().add(new RoomDataItem("50s", dataHandler.getTime(), 2, !config.displayTimeSplits(), "70s"));
+						dataHandler.add(new RoomDataItem("50s", dataHandler.getTime(), 2, !config.displayTimeSplits(), "70s"));
 						return;
 					}
-					else if (!dataHandler.Find("30s").isPresent() && dataHandler.Find("50s").isPresent())
+					else if (!dataHandler.contains(MAIDEN_30S) && dataHandler.contains(MAIDEN_50S))
 					{
-						dataHandler.getData().add(new RoomDataItem("30s", dataHandler.getTime(), 3, !config.displayTimeSplits(), "50s"));
+						dataHandler.add(new RoomDataItem("30s", dataHandler.getTime(), 3, !config.displayTimeSplits(), "50s"));
 						return;
 					}
 				}
@@ -172,15 +190,15 @@ public class MaidenHandler extends RoomHandler
 
 		isNpcFromName(npc, BOSS_NAME, n ->
 		{
-			if (!dataHandler.Find("Starting Tick").isPresent())
+			if (!dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
 				dataHandler.setShouldTrack(true);
 
-				dataHandler.getData().add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "30s"));
+				dataHandler.add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "30s"));
 			}
 
-			instance.lazySetMode(() -> MaidenTable.findMode(n.getId()));
+			instance.lazySetMode(() -> NpcRegistry.mode(n.getId()));
 			maidenNpc = n;
 			phase = MaidenPhase.compose(n);
 		});
@@ -215,11 +233,11 @@ public class MaidenHandler extends RoomHandler
 			return;
 		}
 
-		isNpcFromName(npc, MaidenTable.BLOOD_SPAWN_NAME, n -> bloodSpawns.removeIf(s -> s != null && npc.getIndex() == s.getIndex()));
+		isNpcFromName(npc, MaidenTable.BLOOD_SPAWN_NAME, n -> bloodSpawns.remove(n));
 
 		isNpcFromName(npc, MaidenTable.RED_CRAB_NAME, n ->
 		{
-			crabsMap.remove(n.getIndex());
+			crabsMap.remove(n);
 			crabs_buffer.removeIf(crab -> crab.test(n));
 		});
 	}
@@ -229,13 +247,13 @@ public class MaidenHandler extends RoomHandler
 	{
 		if (instance.isInRaid() && instance.getCurrentRegion().isMaiden())
 		{
-			if (instance.getRoomStatus() == 1 && !dataHandler.Find("Starting Tick").isPresent())
+			if (instance.getRoomStatus() == 1 && !dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
 				dataHandler.setShouldTrack(true);
 			}
 
-			if (dataHandler.isShouldTrack() && !dataHandler.getData().isEmpty())
+			if (dataHandler.isShouldTrack() && !dataHandler.isEmpty())
 			{
 				dataHandler.updateTotalTime();
 			}
@@ -301,7 +319,13 @@ public class MaidenHandler extends RoomHandler
 		{
 			if (n.getAnimation() == MaidenTable.RED_CRAB_DEATH_ANIM)
 			{
-				Optional.ofNullable(crabsMap.getOrDefault(n.getIndex(), null)).ifPresent(crabs_buffer::add);
+				MaidenRedCrab crab = crabsMap.get(n);
+
+				if (crab != null)
+				{
+					crabs_buffer.add(crab);
+					recordDead(n);
+				}
 			}
 		});
 	}
@@ -329,7 +353,7 @@ public class MaidenHandler extends RoomHandler
 
 		isNpcFromName(npc, RED_CRAB_NAME, n ->
 		{
-			MaidenRedCrab crab = crabsMap.getOrDefault(n.getIndex(), null);
+			MaidenRedCrab crab = crabsMap.get(n);
 
 			if (crab == null || (!hitsplat.isMine() && !hitsplat.isOthers()))
 			{
@@ -341,78 +365,77 @@ public class MaidenHandler extends RoomHandler
 	}
 
 	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	public void onTheatreChatMessage(TheatreChatMessage event)
 	{
-		if (instance.getCurrentRegion() != MAIDEN && event.getType() != ChatMessageType.GAMEMESSAGE)
-		{
-			return;
-		}
-
-		String stripped = Text.removeTags(event.getMessage());
-
-		if (MAIDEN_WAVE.matcher(stripped).find())
+		if (event.getType() == TheatreMessage.MAIDEN_COMPLETE)
 		{
 			dataHandler.setShouldTrack(false);
-			dataHandler.Find("Room").get().setValue(dataHandler.getTime());
+			dataHandler.setValue(ROOM, dataHandler.getTime());
 
 			if (config.displayRoomTimes().isInfobox())
 			{
-				buildInfobox();
+				defer(this::buildInfobox);
 			}
 
 			if (config.displayRoomTimes().isChat())
 			{
-				sendChatTimes();
+				defer(this::sendChatTimes);
 			}
 		}
 	}
 
+	private void releaseCrab(MaidenRedCrab crab)
+	{
+		crabs_buffer.remove(crab);
+		crab.clear();
+		crabPool.release(crab);
+	}
+
 	private void buildInfobox()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			String tooltip;
+			final int room = dataHandler.getValue(ROOM);
+			Supplier<String> tooltip;
 
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
-				tooltip = "70% - " + formatTime(dataHandler.FindValue("70s")) + "</br>" +
-						"50% - " + formatTime(dataHandler.FindValue("50s")) + formatTime(dataHandler.FindValue("50s"), dataHandler.FindValue("70s")) + "</br>" +
-						"30% - " + formatTime(dataHandler.FindValue("30s")) + formatTime(dataHandler.FindValue("30s"), dataHandler.FindValue("50s")) + "</br>" +
-						"Complete - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("30s"));
+				final int[] splits = { dataHandler.getValue(MAIDEN_70S), dataHandler.getValue(MAIDEN_50S), dataHandler.getValue(MAIDEN_30S), room };
+				tooltip = () -> formatSplits(TOOLTIP_SPLITS, splits);
 			}
 			else
 			{
-				tooltip = "Complete - " + formatTime(dataHandler.FindValue("Room")) + "*";
+				tooltip = () -> "Complete - " + formatTime(room) + "*";
 			}
 
-			maidenInfoBox = createInfoBox(plugin, config, itemManager.getImage(BOSS_IMAGE), "Maiden", formatTime(dataHandler.FindValue("Room")), tooltip);
+			maidenInfoBox = createInfoBox(plugin, itemManager.getImage(BOSS_IMAGE), "Maiden", formatTime(room), tooltip);
 			infoBoxManager.addInfoBox(maidenInfoBox);
 		}
 	}
 
 	private void sendChatTimes()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
 				enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 						.append(Color.RED, "70%")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("70s")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(MAIDEN_70S)) + " - ")
 						.append(Color.RED, "50%")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("50s")) + formatTime(dataHandler.FindValue("50s"), dataHandler.FindValue("70s")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(MAIDEN_50S)) + formatTime(dataHandler.getValue(MAIDEN_50S), dataHandler.getValue(MAIDEN_70S)) + " - ")
 						.append(Color.RED, "30%")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("30s")) + formatTime(dataHandler.FindValue("30s"), dataHandler.FindValue("50s"))));
+						.append(" - " + formatTime(dataHandler.getValue(MAIDEN_30S)) + formatTime(dataHandler.getValue(MAIDEN_30S), dataHandler.getValue(MAIDEN_50S))));
 
 				if (config.roomTimeValidation())
 				{
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Maiden - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("30%"))));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + formatTime(dataHandler.getValue(ROOM), dataHandler.getValue(MAIDEN_30S))));
 				}
 			}
 			else
@@ -422,7 +445,7 @@ public class MaidenHandler extends RoomHandler
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Maiden - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + "*"));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + "*"));
 				}
 			}
 		}
@@ -81,7 +81,7 @@ public class MaidenSceneOverlay extends RoomSceneOverlay<MaidenHandler>
 
 	private void drawCrabOverlays(Graphics2D graphics)
 	{
-		HPDisplayTypes hpDisplayType = config.getMaidenCrabHPType();
+		HPDisplayTypes hpDisplayType = plugin.getConfigSnapshot().maidenCrabHPType();
 
 		if (hpDisplayType.off())
 		{
@@ -101,7 +101,7 @@ public class MaidenSceneOverlay extends RoomSceneOverlay<MaidenHandler>
 
 	private void drawCrabTextOverlays(Graphics2D graphics, MaidenRedCrab crab, int offset)
 	{
-		HPDisplayTypes hpDisplayType = config.getMaidenCrabHPType();
+		HPDisplayTypes hpDisplayType = plugin.getConfigSnapshot().maidenCrabHPType();
 
 		List<String> pieces = new ArrayList<>();
 		NPC npc = crab.npc();
@@ -112,7 +112,7 @@ public class MaidenSceneOverlay extends RoomSceneOverlay<MaidenHandler>
 			pieces.add(hpDisplayType.showAsPercent() ? Double.toString(health.truncatedPercent()) : Integer.toString(health.getCurrent()));
 		}
 
-		if (config.displayCrabProc())
+		if (plugin.getConfigSnapshot().displayCrabProc())
 		{
 			pieces.add(crab.phaseKey());
 		}
@@ -137,15 +137,15 @@ public class MaidenSceneOverlay extends RoomSceneOverlay<MaidenHandler>
 	{
 		if (phaseKey.equals(MaidenPhase.P1.key()))
 		{
-			return config.maiden70sColor();
+			return plugin.getConfigSnapshot().maiden70sColor();
 		}
 		else if (phaseKey.equals(MaidenPhase.P2.key()))
 		{
-			return config.maiden50sColor();
+			return plugin.getConfigSnapshot().maiden50sColor();
 		}
 		else if (phaseKey.equals(MaidenPhase.P3.key()))
 		{
-			return config.maiden30sColor();
+			return plugin.getConfigSnapshot().maiden30sColor();
 		}
 		return Color.WHITE;
 	}
@@ -27,8 +27,6 @@ package com.tobqol.rooms.maiden.commons;
 
 import net.runelite.api.NullObjectID;
 
-import java.util.regex.Pattern;
-
 public interface MaidenConstants
 {
 	String BOSS_NAME = "The Maiden of Sugadinti";
@@ -36,8 +34,6 @@ public interface MaidenConstants
 
 	int BOSS_IMAGE = 25748;
 
-	Pattern MAIDEN_WAVE = Pattern.compile("Wave 'The Maiden of Sugadinti' \\(.*\\) complete!");
-
 	String RED_CRAB_NAME = "Nylocas Matomenos";
 	String BLOOD_SPAWN_NAME = "Blood spawn";
 
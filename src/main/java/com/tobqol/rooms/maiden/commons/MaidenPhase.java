@@ -25,15 +25,12 @@
  */
 package com.tobqol.rooms.maiden.commons;
 
-import com.google.common.collect.ImmutableMap;
+import com.tobqol.api.game.NpcRegistry;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.runelite.api.NPC;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @RequiredArgsConstructor
 @Getter
 @Accessors(fluent = true)
@@ -46,37 +43,31 @@ public enum MaidenPhase
 
 	private final String key;
 
-	private static final Map<Integer, MaidenPhase> LOOKUP;
-
-	static
+	public static MaidenPhase compose(NPC npc)
 	{
-		ImmutableMap.Builder<Integer, MaidenPhase> builder = ImmutableMap.builder();
-
-		Map<MaidenTable, MaidenPhase> phases = new HashMap<>();
-
-		phases.put(MaidenTable.MAIDEN_P0, MaidenPhase.P1);
-		phases.put(MaidenTable.MAIDEN_P1, MaidenPhase.P2);
-		phases.put(MaidenTable.MAIDEN_P2, MaidenPhase.P3);
-
-
-		phases.forEach((table, phase) ->
+		if (npc == null)
 		{
-			builder.put(table.sm(), phase);
-			builder.put(table.rg(), phase);
-			builder.put(table.hm(), phase);
-		});
+			return OTHER;
+		}
 
-		LOOKUP = builder.build();
-	}
+		MaidenTable table = NpcRegistry.role(npc.getId(), MaidenTable.class);
 
-	public static MaidenPhase compose(NPC npc)
-	{
-		if (npc == null)
+		if (table == null)
 		{
 			return OTHER;
 		}
 
-		return LOOKUP.getOrDefault(npc.getId(), OTHER);
+		switch (table)
+		{
+			case MAIDEN_P0:
+				return P1;
+			case MAIDEN_P1:
+				return P2;
+			case MAIDEN_P2:
+				return P3;
+			default:
+				return OTHER;
+		}
 	}
 
 	public boolean isPhaseOne()
@@ -40,7 +40,7 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.function.Predicate;
 
-@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
 @Accessors(fluent = true)
 @EqualsAndHashCode(of = "npc", doNotUseGetters = true)
@@ -52,15 +52,41 @@ public class MaidenRedCrab implements Predicate<NPC>
 	String spawnKey;
 	boolean scuffed;
 
+	public MaidenRedCrab()
+	{
+	}
+
 	public MaidenRedCrab(Client client, Instance instance, NPC npc, MaidenPhase phase)
 	{
+		init(client, instance, npc, phase);
+	}
+
+	/**
+	 * Fills the crab in for a new spawn, the health object is kept across reuses.
+	 */
+	public MaidenRedCrab init(Client client, Instance instance, NPC npc, MaidenPhase phase)
+	{
+		int baseHP = Hitpoints.MAIDEN_MATOMENOS.getBaseHP(instance);
+
 		this.npc = npc;
-		this.health = new Health(Hitpoints.MAIDEN_MATOMENOS.getBaseHP(instance));
+		this.health = health == null ? new Health(baseHP) : health.reset(baseHP);
 		this.phaseKey = phase.key();
 
 		Pair<String, Boolean> id = MaidenTable.lookupMatomenosSpawn(client, npc);
 		this.spawnKey = id == null ? "Unknown" : id.getLeft();
 		this.scuffed = id != null && id.getRight();
+		return this;
+	}
+
+	/**
+	 * Lets go of the NPC before the crab goes back to its pool.
+	 */
+	public void clear()
+	{
+		this.npc = null;
+		this.phaseKey = null;
+		this.spawnKey = null;
+		this.scuffed = false;
 	}
 
 	public int distance(Actor actor)
@@ -25,9 +25,7 @@
  */
 package com.tobqol.rooms.maiden.commons;
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
-import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.TileTrigger;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
@@ -39,8 +37,6 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nullable;
 
-import static com.google.common.collect.Tables.immutableCell;
-
 @RequiredArgsConstructor
 @Getter
 @Accessors(fluent = true)
@@ -57,50 +53,29 @@ public enum MaidenTable implements MaidenConstants
 
 	private final int sm, rg, hm;
 
-	private static final Table<Instance.Mode, Integer, MaidenTable> LOOKUP_TABLE;
-	private static final Table<String, Integer, Boolean> SPAWNS_TABLE;
+	private static final String[] SPAWN_KEYS = { "N1", "N2", "N3", "N4 (1)", "N4 (2)", "S1", "S2", "S3", "S4 (1)", "S4 (2)" };
+
+	// Indexed by TileTrigger.pack of the spawn tile, holds (key index + 1) << 1 | scuffed, 0 when the tile is not a spawn
+	private static final byte[] SPAWNS = new byte[64 * 64];
 
 	static
 	{
-		ImmutableTable.Builder<Instance.Mode, Integer, MaidenTable> l_builder = ImmutableTable.builder();
-
-		for (MaidenTable def : values())
-		{
-			l_builder.put(immutableCell(Instance.Mode.STORY, def.sm, def));
-			l_builder.put(immutableCell(Instance.Mode.REGULAR, def.rg, def));
-			l_builder.put(immutableCell(Instance.Mode.HARD, def.hm, def));
-		}
-
-		LOOKUP_TABLE = l_builder.build();
-
-		ImmutableTable.Builder<String, Integer, Boolean> s_builder = ImmutableTable.builder();
-		s_builder.put(immutableCell("N1", 23 << 8 | 42, true));
-		s_builder.put(immutableCell("N1", 22 << 8 | 41, false));
-		s_builder.put(immutableCell("N2", 27 << 8 | 42, true));
-		s_builder.put(immutableCell("N2", 26 << 8 | 41, false));
-		s_builder.put(immutableCell("N3", 31 << 8 | 42, true));
-		s_builder.put(immutableCell("N3", 30 << 8 | 41, false));
-		s_builder.put(immutableCell("N4 (1)", 35 << 8 | 42, true));
-		s_builder.put(immutableCell("N4 (1)", 34 << 8 | 41, false));
-		s_builder.put(immutableCell("N4 (2)", 35 << 8 | 40, true));
-		s_builder.put(immutableCell("N4 (2)", 34 << 8 | 39, false));
-		s_builder.put(immutableCell("S1", 23 << 8 | 20, true));
-		s_builder.put(immutableCell("S1", 22 << 8 | 21, false));
-		s_builder.put(immutableCell("S2", 27 << 8 | 20, true));
-		s_builder.put(immutableCell("S2", 26 << 8 | 21, false));
-		s_builder.put(immutableCell("S3", 31 << 8 | 20, true));
-		s_builder.put(immutableCell("S3", 30 << 8 | 21, false));
-		s_builder.put(immutableCell("S4 (1)", 35 << 8 | 20, true));
-		s_builder.put(immutableCell("S4 (1)", 34 << 8 | 21, false));
-		s_builder.put(immutableCell("S4 (2)", 35 << 8 | 22, true));
-		s_builder.put(immutableCell("S4 (2)", 34 << 8 | 23, false));
-		SPAWNS_TABLE = s_builder.build();
+		spawn(0, 23, 42, 22, 41);
+		spawn(1, 27, 42, 26, 41);
+		spawn(2, 31, 42, 30, 41);
+		spawn(3, 35, 42, 34, 41);
+		spawn(4, 35, 40, 34, 39);
+		spawn(5, 23, 20, 22, 21);
+		spawn(6, 27, 20, 26, 21);
+		spawn(7, 31, 20, 30, 21);
+		spawn(8, 35, 20, 34, 21);
+		spawn(9, 35, 22, 34, 23);
 	}
 
-	@Nullable
-	public static Instance.Mode findMode(int npcId)
+	private static void spawn(int key, int scuffedX, int scuffedY, int x, int y)
 	{
-		return Instance.findFirstMode(mode -> LOOKUP_TABLE.get(mode, npcId) != null);
+		SPAWNS[TileTrigger.pack(scuffedX, scuffedY)] = (byte) ((key + 1) << 1 | 1);
+		SPAWNS[TileTrigger.pack(x, y)] = (byte) ((key + 1) << 1);
 	}
 
 	@Nullable
@@ -111,21 +86,14 @@ public enum MaidenTable implements MaidenConstants
 			return null;
 		}
 
-		WorldPoint wp = WorldPoint.fromLocal(client, npc.getLocalLocation());
-		int packed = wp.getRegionX() << 8 | wp.getRegionY();
+		int key = TileTrigger.pack(WorldPoint.fromLocal(client, npc.getLocalLocation()));
+		int spawn = key == TileTrigger.NONE ? 0 : SPAWNS[key];
 
-		for (String spawnKey : SPAWNS_TABLE.rowKeySet())
+		if (spawn == 0)
 		{
-			Boolean scuffed = SPAWNS_TABLE.get(spawnKey, packed);
-
-			if (scuffed == null)
-			{
-				continue;
-			}
-
-			return Pair.of(spawnKey, scuffed);
+			return null;
 		}
 
-		return null;
+		return Pair.of(SPAWN_KEYS[(spawn >> 1) - 1], (spawn & 1) != 0);
 	}
-}
\ No newline at end of file
+}
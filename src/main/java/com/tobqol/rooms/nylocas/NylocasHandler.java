@@ -28,20 +28,25 @@ package com.tobqol.rooms.nylocas;
 import com.google.common.collect.ImmutableList;
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
+import com.tobqol.api.game.NpcRegistry;
+import com.tobqol.api.game.NpcSlotMap;
 import com.tobqol.api.game.Region;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
 import com.tobqol.api.util.TheatreInputListener;
+import com.tobqol.api.util.TickTimerWheel;
 import com.tobqol.rooms.RoomHandler;
 import com.tobqol.rooms.nylocas.commons.NyloBoss;
 import com.tobqol.rooms.nylocas.commons.NyloSelectionBox;
 import com.tobqol.rooms.nylocas.commons.NyloSelectionManager;
 import com.tobqol.rooms.nylocas.commons.NylocasConstants;
 import com.tobqol.tracking.RoomDataHandler;
+import com.tobqol.tracking.RoomDataKeys;
 import com.tobqol.tracking.RoomDataItem;
 import com.tobqol.tracking.RoomInfoBox;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import net.runelite.api.Point;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.*;
@@ -58,11 +63,13 @@ import javax.inject.Inject;
 import java.awt.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static com.tobqol.api.game.Region.NYLOCAS;
-import static com.tobqol.api.game.Region.inRegion;
 import static com.tobqol.rooms.nylocas.commons.NylocasConstants.*;
+import static com.tobqol.tracking.RoomDataKeys.*;
 import static com.tobqol.tracking.RoomInfoUtil.createInfoBox;
+import static com.tobqol.tracking.RoomInfoUtil.formatSplits;
 import static com.tobqol.tracking.RoomInfoUtil.formatTime;
 
 @Slf4j
@@ -105,6 +112,11 @@ public class NylocasHandler extends RoomHandler
 
 	private RoomInfoBox nylocasInfoBox;
 
+	private static final String[] TOOLTIP_SPLITS = { "Waves", "Cleanup", "Boss", "Complete" };
+
+	// Everything the nyloHideObjects option can hide
+	private static final ImmutableList<Integer> ROOM_OBJECTS = ImmutableList.of(PILLAR_GO_ID, SPECTATOR_WEB_1, SPECTATOR_WEB_2, SPECTATOR_WEB_3, WALL_1, WALL_2);
+
 	private int wave = 0;
 	private boolean waveSpawned = false;
 
@@ -116,16 +128,22 @@ public class NylocasHandler extends RoomHandler
 	private int demiCount = 0;
 
 	@Getter
-	private final Map<NPC, Integer> pillars = new HashMap<>();
+	private final NpcSlotMap<Integer> pillars = npcSlots();
 
 	@Getter
-	private final Map<NPC, Integer> wavesMap = new HashMap<>();
+	private final TickTimerWheel<NPC> waves = new TickTimerWheel<>();
+
+	// Every nylo spawned in the waves until it is seen dead, the waves timers run out long before most of them die
+	private final NpcSlotMap<Boolean> waveNylos = npcSlots();
 
 	@Getter
-	private final Map<NPC, Integer> bigsMap = new HashMap<>();
+	private final NpcSlotMap<Integer> bigsMap = npcSlots();
 
 	@Getter
-	private final Map<NPC, Integer> splitsMap = new HashMap<>();
+	private final TickTimerWheel<NPC> splits = new TickTimerWheel<>();
+
+	// Menu target color tag per NPC id and size, every nylo of a kind is recolored the same way
+	private final Map<Integer, String> menuColorPrefixes = new HashMap<>();
 
 	@Inject
 	protected NylocasHandler(TheatreQOLPlugin plugin, TheatreQOLConfig config)
@@ -198,9 +216,10 @@ public class NylocasHandler extends RoomHandler
 	private void softReset()
 	{
 		pillars.clear();
-		wavesMap.clear();
+		waves.clear();
+		waveNylos.clear();
 		bigsMap.clear();
-		splitsMap.clear();
+		splits.clear();
 	}
 
 	@Override
@@ -209,6 +228,12 @@ public class NylocasHandler extends RoomHandler
 		return instance.getCurrentRegion().isNylocas();
 	}
 
+	@Override
+	protected boolean cullsDeadNpcs()
+	{
+		return plugin.getConfigSnapshot().nyloLowDetail();
+	}
+
 	private void startupNyloOverlay()
 	{
 		mouseManager.registerMouseListener(theatreInputListener);
@@ -231,7 +256,8 @@ public class NylocasHandler extends RoomHandler
 	}
 
 	@Subscribe
-	private void onConfigChanged(ConfigChanged e)
+	@Override
+	public void onConfigChanged(ConfigChanged e)
 	{
 		if (!e.getGroup().equalsIgnoreCase(TheatreQOLConfig.GROUP_NAME))
 		{
@@ -243,18 +269,15 @@ public class NylocasHandler extends RoomHandler
 			case "nyloHideObjects":
 				clientThread.invokeLater(() ->
 				{
-					if (inRegion(client, Region.NYLOCAS) && client.getGameState() == GameState.LOGGED_IN)
+					if (instance.getLocation().isIn(Region.NYLOCAS) && client.getGameState() == GameState.LOGGED_IN)
 					{
-						sceneManager.refreshScene();
+						// Put back whatever the previous option hid, then hide what the new one asks for
+						sceneManager.restoreTheseGameObjects(client.getPlane(), ROOM_OBJECTS);
 
 						if (config.nyloHideObjects().isAnyOrAll())
 						{
 							hideRoomObjects(config.nyloHideObjects().toString());
 						}
-						else
-						{
-							client.setGameState(GameState.LOADING);
-						}
 					}
 				});
 				break;
@@ -295,31 +318,31 @@ public class NylocasHandler extends RoomHandler
 		NPC npc = e.getNpc();
 		int id = npc.getId();
 
-		if (NylocasConstants.matchesAnyMode(BOSS_DROPPING_MELEE, id))
+		if (NpcRegistry.is(id, BOSS_DROPPING_MELEE))
 		{
-			dataHandler.getData().add(new RoomDataItem("Boss", dataHandler.getTime(), 6, !config.displayTimeSplits(), "Cleanup"));
+			dataHandler.add(new RoomDataItem("Boss", dataHandler.getTime(), 6, !config.displayTimeSplits(), "Cleanup"));
 			return;
 		}
 
-		if (isNpcFromName(npc, BOSS_NAME) && NylocasConstants.matchesAnyMode(NylocasConstants.BOSS_MELEE, id))
+		if (isNpcFromName(npc, BOSS_NAME) && NpcRegistry.is(id, NylocasConstants.BOSS_MELEE))
 		{
-			instance.lazySetMode(() -> NylocasConstants.findMode(id));
+			instance.lazySetMode(() -> NpcRegistry.mode(id));
 			boss = NyloBoss.spawned(npc, instance.mode());
 			softReset();
 			return;
 		}
 
-		if (isNpcFromName(npc, DEMI_BOSS_NAME) && NylocasConstants.matchesAnyMode(NylocasConstants.DEMI_BOSS_MELEE, id))
+		if (isNpcFromName(npc, DEMI_BOSS_NAME) && NpcRegistry.is(id, NylocasConstants.DEMI_BOSS_MELEE))
 		{
-			instance.lazySetMode(() -> NylocasConstants.findMode(id));
+			instance.lazySetMode(() -> NpcRegistry.mode(id));
 			demiBoss = NyloBoss.spawned(npc, instance.mode());
 
 			demiCount++;
-			dataHandler.getData().add(new RoomDataItem("Demi " + demiCount, dataHandler.getTime(), demiCount, true, demiCount > 1 ? "Demi " + (demiCount - 1) : ""));
+			dataHandler.add(new RoomDataItem("Demi " + demiCount, dataHandler.getTime(), demiCount, true, demiCount > 1 ? "Demi " + (demiCount - 1) : ""));
 			return;
 		}
 
-		if (NylocasConstants.matchesAnyMode(NylocasConstants.PILLAR, id))
+		if (NpcRegistry.is(id, NylocasConstants.PILLAR))
 		{
 			if (pillars.size() > 3)
 			{
@@ -328,9 +351,9 @@ public class NylocasHandler extends RoomHandler
 
 			pillars.putIfAbsent(npc, 100);
 
-			if (!dataHandler.Find("Starting Tick").isPresent())
+			if (!dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
 				dataHandler.setShouldTrack(true);
 			}
 			return;
@@ -338,8 +361,10 @@ public class NylocasHandler extends RoomHandler
 
 		if (isNpcFromName(npc, MELEE_NAME) || isNpcFromName(npc, RANGE_NAME) || isNpcFromName(npc, MAGIC_NAME))
 		{
-			instance.lazySetMode(() -> NylocasConstants.findMode(id));
-			wavesMap.put(npc, 52);
+			instance.lazySetMode(() -> NpcRegistry.mode(id));
+			// Reads 52 on spawn and goes on the GameTick 52 ticks later, as the decremented map entry did
+			waves.schedule(npc, client.getTickCount(), 52);
+			waveNylos.put(npc, Boolean.TRUE);
 
 			NPCComposition comp = npc.getTransformedComposition();
 			if ((comp == null ? 1 : comp.getSize()) > 1)
@@ -355,17 +380,14 @@ public class NylocasHandler extends RoomHandler
 			// TODO -> Eventually convert this to track split data for nylocas spawns for post-room splits
 			if (!waveSpawned)
 			{
-				WorldPoint worldPoint = WorldPoint.fromLocalInstance(client, npc.getLocalLocation());
-				Point spawnPoint = new Point(worldPoint.getRegionX(), worldPoint.getRegionY());
-
-				if (NYLOCAS_VALID_SPAWNS.contains(spawnPoint))
+				if (NYLOCAS_VALID_SPAWNS.contains(WorldPoint.fromLocalInstance(client, npc.getLocalLocation())))
 				{
 					wave++;
 					waveSpawned = true;
 
 					if (wave == NYLOCAS_WAVES_TOTAL)
 					{
-						dataHandler.getData().add(new RoomDataItem("Waves", dataHandler.getTime(), 4, !config.displayTimeSplits(), dataHandler.Find("Demi 3").isPresent() ? "Demi 3" : ""));
+						dataHandler.add(new RoomDataItem("Waves", dataHandler.getTime(), 4, !config.displayTimeSplits(), dataHandler.contains(RoomDataKeys.demi(3)) ? "Demi 3" : ""));
 					}
 				}
 			}
@@ -406,31 +428,31 @@ public class NylocasHandler extends RoomHandler
 		NPC npc = e.getNpc();
 		int id = npc.getId();
 
-		if (isNpcFromName(npc, BOSS_NAME) && !NylocasConstants.matchesAnyMode(NylocasConstants.BOSS_DROPPING_MELEE, id))
+		if (isNpcFromName(npc, BOSS_NAME) && !NpcRegistry.is(id, NylocasConstants.BOSS_DROPPING_MELEE))
 		{
 			reset();
 			return;
 		}
 
-		if (isNpcFromName(npc, DEMI_BOSS_NAME) && !NylocasConstants.matchesAnyMode(NylocasConstants.DEMI_BOSS_DROPPING_MELEE, id))
+		if (isNpcFromName(npc, DEMI_BOSS_NAME) && !NpcRegistry.is(id, NylocasConstants.DEMI_BOSS_DROPPING_MELEE))
 		{
 			demiBoss = null;
 			return;
 		}
 
 		pillars.remove(npc);
-		wavesMap.remove(npc);
+		waves.remove(npc);
 
-		if (wavesMap.isEmpty() && wave == NYLOCAS_WAVES_TOTAL && !dataHandler.Find("Cleanup").isPresent())
+		if (waves.isEmpty() && wave == NYLOCAS_WAVES_TOTAL && !dataHandler.contains(NYLOCAS_CLEANUP))
 		{
-			dataHandler.getData().add(new RoomDataItem("Cleanup", dataHandler.getTime(), 5, false, "Waves"));
+			dataHandler.add(new RoomDataItem("Cleanup", dataHandler.getTime(), 5, false, "Waves"));
 		}
 	}
 
 	@Subscribe
 	private void onMenuEntryAdded(MenuEntryAdded e)
 	{
-		if (!active() || !config.nyloWavesRecolorMenu() || wavesMap.isEmpty())
+		if (!active() || !config.nyloWavesRecolorMenu() || waves.isEmpty())
 		{
 			return;
 		}
@@ -444,36 +466,54 @@ public class NylocasHandler extends RoomHandler
 				return;
 			}
 
-			String target = e.getTarget();
-			MenuEntry[] entries = client.getMenuEntries();
-			MenuEntry head = entries[entries.length - 1];
-
-			boolean darker = config.nyloWavesRecolorBigsMenuDarker() && npc.getTransformedComposition() != null && npc.getTransformedComposition().getSize() > 1;
-			int id = npc.getId();
-			target = Text.removeTags(target);
-			Color color = null;
+			NPCComposition comp = npc.getTransformedComposition();
 
-			if (target.contains(MELEE_NAME) || id == NylocasConstants.DEMI_BOSS_MELEE.hm())
-			{
-				color = darker ? MELEE_COLOR.darker() : MELEE_COLOR;
-			}
-			else if (target.contains(RANGE_NAME) || id == NylocasConstants.DEMI_BOSS_RANGE.hm())
+			if (comp == null)
 			{
-				color = darker ? RANGE_COLOR.darker() : RANGE_COLOR;
+				return;
 			}
-			else if (target.contains(MAGIC_NAME) || id == NylocasConstants.DEMI_BOSS_MAGIC.hm())
+
+			int id = npc.getId();
+			boolean darker = comp.getSize() > 1 && config.nyloWavesRecolorBigsMenuDarker();
+			int key = id << 1 | (darker ? 1 : 0);
+			String prefix = menuColorPrefixes.get(key);
+
+			if (prefix == null)
 			{
-				color = darker ? MAGIC_COLOR.darker() : MAGIC_COLOR;
+				prefix = menuColorPrefix(id, comp.getName(), darker);
+				menuColorPrefixes.put(key, prefix);
 			}
 
-			if (color != null)
+			if (!prefix.isEmpty())
 			{
-				target = ColorUtil.prependColorTag(target, color);
+				e.getMenuEntry().setTarget(prefix + Text.removeTags(e.getTarget()));
 			}
+		}
+	}
+
+	private static String menuColorPrefix(int id, String name, boolean darker)
+	{
+		Color color = null;
 
-			head.setTarget(target);
-			client.setMenuEntries(entries);
+		if (MELEE_NAME.equals(name) || id == NylocasConstants.DEMI_BOSS_MELEE.hm())
+		{
+			color = MELEE_COLOR;
+		}
+		else if (RANGE_NAME.equals(name) || id == NylocasConstants.DEMI_BOSS_RANGE.hm())
+		{
+			color = RANGE_COLOR;
+		}
+		else if (MAGIC_NAME.equals(name) || id == NylocasConstants.DEMI_BOSS_MAGIC.hm())
+		{
+			color = MAGIC_COLOR;
+		}
+
+		if (color == null)
+		{
+			return "";
 		}
+
+		return ColorUtil.colorTag(darker ? color.darker() : color);
 	}
 
 	@Subscribe
@@ -481,15 +521,15 @@ public class NylocasHandler extends RoomHandler
 	{
 		if (instance.isInRaid() && instance.getCurrentRegion().isNylocas())
 		{
-			if (instance.getRoomStatus() == 1 && !dataHandler.Find("Starting Tick").isPresent())
+			if (instance.getRoomStatus() == 1 && !dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
 				dataHandler.setShouldTrack(true);
 
-				dataHandler.getData().add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "Boss"));
+				dataHandler.add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "Boss"));
 			}
 
-			if (dataHandler.isShouldTrack() && !dataHandler.getData().isEmpty())
+			if (dataHandler.isShouldTrack() && !dataHandler.isEmpty())
 			{
 				dataHandler.updateTotalTime();
 			}
@@ -506,32 +546,46 @@ public class NylocasHandler extends RoomHandler
 
 		if (!pillars.isEmpty())
 		{
-			for (NPC pillar : pillars.keySet())
+			pillars.forEach((pillar, hp) ->
 			{
 				int ratio = pillar.getHealthRatio();
 
 				if (ratio > -1)
 				{
-					pillars.replace(pillar, ratio);
+					pillars.put(pillar, ratio);
 				}
-			}
+			});
+		}
+
+		if (!waveNylos.isEmpty())
+		{
+			waveNylos.removeIf((nylo, v) ->
+			{
+				if (nylo.isDead())
+				{
+					recordDead(nylo);
+					return true;
+				}
+
+				return false;
+			});
 		}
 
-		if (!wavesMap.isEmpty())
+		int tick = client.getTickCount();
+
+		if (!waves.isEmpty())
 		{
-			wavesMap.values().removeIf(VALUE_IS_ZERO);
-			wavesMap.replaceAll(DECREMENT_VALUE);
+			waves.advance(tick);
 			waveSpawned = false;
 		}
 
 		if (!bigsMap.isEmpty())
 		{
-			bigsMap.entrySet().removeIf(entry ->
+			bigsMap.removeIf((big, ticks) ->
 			{
-				NPC big = entry.getKey();
-				if (big.getHealthRatio() == 0 || entry.getValue() >= 52)
+				if (big.getHealthRatio() == 0 || ticks >= 52)
 				{
-					splitsMap.putIfAbsent(big, 0xFF);
+					splits.scheduleIfAbsent(big, tick, 0xFF);
 					return true;
 				}
 
@@ -539,11 +593,7 @@ public class NylocasHandler extends RoomHandler
 			});
 		}
 
-		if (!splitsMap.isEmpty())
-		{
-			splitsMap.values().removeIf(VALUE_IS_ZERO);
-			splitsMap.replaceAll(DECREMENT_VALUE);
-		}
+		splits.advance(tick);
 	}
 
 	@Subscribe
@@ -563,107 +613,82 @@ public class NylocasHandler extends RoomHandler
 				case 7991:
 				case 7998:
 				case 8005:
-					splitsMap.merge(npc, 5, (o, n) -> n);
+					splits.schedule(npc, client.getTickCount(), 5);
 					break;
 				case 7992:
 				case 8000:
 				case 8006:
-					splitsMap.merge(npc, 3, (o, n) -> n);
+					splits.schedule(npc, client.getTickCount(), 3);
 					break;
 			}
 		}
 	}
 
 	@Subscribe
-	private void onGraphicsObjectCreated(GraphicsObjectCreated e)
+	public void onTheatreChatMessage(TheatreChatMessage event)
 	{
-		if (!active() || !config.nyloLowDetail())
-		{
-			return;
-		}
-
-		GraphicsObject graphic = e.getGraphicsObject();
-		int id = e.getGraphicsObject().getId();
-
-		if ((id >= UNK_DESPAWN_GRAPHIC_1 && id <= MAGIC_SMALL_DESPAWN_GRAPHIC) || (id >= UNK_DESPAWN_GRAPHIC_2 && id <= UNK_DESPAWN_GRAPHIC_5))
-		{
-			graphic.setFinished(true);
-		}
-	}
-
-	@Subscribe
-	public void onChatMessage(ChatMessage event)
-	{
-		if (instance.getCurrentRegion() != NYLOCAS && event.getType() != ChatMessageType.GAMEMESSAGE)
-		{
-			return;
-		}
-
-		String stripped = Text.removeTags(event.getMessage());
-
-		if (NYLOCAS_WAVE.matcher(stripped).find())
+		if (event.getType() == TheatreMessage.NYLOCAS_COMPLETE)
 		{
 			dataHandler.setShouldTrack(false);
-			dataHandler.Find("Room").get().setValue(dataHandler.getTime());
+			dataHandler.setValue(ROOM, dataHandler.getTime());
 
 			if (config.displayRoomTimes().isInfobox())
 			{
-				buildInfobox();
+				defer(this::buildInfobox);
 			}
 
 			if (config.displayRoomTimes().isChat())
 			{
-				sendChatTimes();
+				defer(this::sendChatTimes);
 			}
 		}
 	}
 
 	private void buildInfobox()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			String tooltip;
+			final int room = dataHandler.getValue(ROOM);
+			Supplier<String> tooltip;
 
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
-				tooltip = "Waves - " + formatTime(dataHandler.FindValue("Waves")) + "</br>" +
-						"Cleanup - " + formatTime(dataHandler.FindValue("Cleanup")) + formatTime(dataHandler.FindValue("Cleanup"), dataHandler.FindValue("Waves")) + "</br>" +
-						"Boss - " + formatTime(dataHandler.FindValue("Boss")) + formatTime(dataHandler.FindValue("Boss"), dataHandler.FindValue("Cleanup")) + "</br>" +
-						"Complete - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("Boss"));
+				final int[] splits = { dataHandler.getValue(NYLOCAS_WAVES), dataHandler.getValue(NYLOCAS_CLEANUP), dataHandler.getValue(NYLOCAS_BOSS), room };
+				tooltip = () -> formatSplits(TOOLTIP_SPLITS, splits);
 			}
 			else
 			{
-				tooltip = "Complete - " + formatTime(dataHandler.FindValue("Room")) + "*";
+				tooltip = () -> "Complete - " + formatTime(room) + "*";
 			}
 
-			nylocasInfoBox = createInfoBox(plugin, config, itemManager.getImage(BOSS_IMAGE), "Nylocas", formatTime(dataHandler.FindValue("Room")), tooltip);
+			nylocasInfoBox = createInfoBox(plugin, itemManager.getImage(BOSS_IMAGE), "Nylocas", formatTime(room), tooltip);
 			infoBoxManager.addInfoBox(nylocasInfoBox);
 		}
 	}
 
 	private void sendChatTimes()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
 				enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 						.append(Color.RED, "Waves")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("Waves")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(NYLOCAS_WAVES)) + " - ")
 						.append(Color.RED, "Cleanup")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("Cleanup")) + formatTime(dataHandler.FindValue("Cleanup"), dataHandler.FindValue("Waves")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(NYLOCAS_CLEANUP)) + formatTime(dataHandler.getValue(NYLOCAS_CLEANUP), dataHandler.getValue(NYLOCAS_WAVES)) + " - ")
 						.append(Color.RED, "Boss")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("Boss")) + formatTime(dataHandler.FindValue("Boss"), dataHandler.FindValue("Cleanup"))));
+						.append(" - " + formatTime(dataHandler.getValue(NYLOCAS_BOSS)) + formatTime(dataHandler.getValue(NYLOCAS_BOSS), dataHandler.getValue(NYLOCAS_CLEANUP))));
 
 				if (config.roomTimeValidation())
 				{
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Nylocas - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("Boss"))));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + formatTime(dataHandler.getValue(ROOM), dataHandler.getValue(NYLOCAS_BOSS))));
 				}
 			}
 			else
@@ -673,7 +698,7 @@ public class NylocasHandler extends RoomHandler
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Nylocas - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + "*"));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + "*"));
 				}
 			}
 		}
@@ -696,7 +721,7 @@ public class NylocasHandler extends RoomHandler
 				sceneManager.removeTheseGameObjects(client.getPlane(), ImmutableList.of(PILLAR_GO_ID, SPECTATOR_WEB_1, SPECTATOR_WEB_2, SPECTATOR_WEB_3));
 				break;
 			case "All":
-				sceneManager.removeTheseGameObjects(client.getPlane(), ImmutableList.of(PILLAR_GO_ID, SPECTATOR_WEB_1, SPECTATOR_WEB_2, SPECTATOR_WEB_3, WALL_1, WALL_2));
+				sceneManager.removeTheseGameObjects(client.getPlane(), ROOM_OBJECTS);
 				break;
 		}
 	}
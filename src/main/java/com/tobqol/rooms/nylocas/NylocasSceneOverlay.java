@@ -28,6 +28,7 @@ package com.tobqol.rooms.nylocas;
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
 import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.NpcSlotMap;
 import com.tobqol.rooms.RoomSceneOverlay;
 import com.tobqol.rooms.nylocas.commons.NylocasConstants;
 import lombok.extern.slf4j.Slf4j;
@@ -41,7 +42,6 @@ import net.runelite.client.ui.overlay.OverlayUtil;
 
 import javax.inject.Inject;
 import java.awt.*;
-import java.util.Map;
 
 @Slf4j
 public class NylocasSceneOverlay extends RoomSceneOverlay<NylocasHandler>
@@ -83,12 +83,12 @@ public class NylocasSceneOverlay extends RoomSceneOverlay<NylocasHandler>
 
 	private void drawPillarsHP(Graphics2D graphics)
 	{
-		if (!config.showNylocasPillarHP())
+		if (!plugin.getConfigSnapshot().showNylocasPillarHP())
 		{
 			return;
 		}
 
-		Map<NPC, Integer> pillars = room.getPillars();
+		NpcSlotMap<Integer> pillars = room.getPillars();
 
 		if (pillars.isEmpty())
 		{
@@ -107,11 +107,11 @@ public class NylocasSceneOverlay extends RoomSceneOverlay<NylocasHandler>
 	private void renderRoleOverlays(Graphics2D graphics)
 	{
 		// Determine config options rather than consistently drawing data on each render as it can be used multiple times within method
-		boolean displaySWTile = config.nyloWavesBigsSWTile();
+		boolean displaySWTile = plugin.getConfigSnapshot().nyloWavesBigsSWTile();
 
-		if (room.isAnyRole() && !room.getWavesMap().isEmpty())
+		if (room.isAnyRole() && !room.getWaves().isEmpty())
 		{
-			room.getWavesMap().forEach((npc, ticks) ->
+			room.getWaves().forEach(client.getTickCount(), (npc, ticks) ->
 			{
 				if (npc.getName() != null && !npc.isDead())
 				{
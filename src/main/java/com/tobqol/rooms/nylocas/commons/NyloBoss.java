@@ -26,6 +26,7 @@
 package com.tobqol.rooms.nylocas.commons;
 
 import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.NpcRegistry;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -46,12 +47,12 @@ public class NyloBoss
 
 	public static NyloBoss spawned(NPC npc, Instance.Mode mode)
 	{
-		return new NyloBoss(npc, mode, NylocasConstants.queryTable(mode, npc.getId()));
+		return new NyloBoss(npc, mode, NpcRegistry.role(npc.getId(), NylocasConstants.class));
 	}
 
 	public void changed()
 	{
-		this.definition = NylocasConstants.queryTable(mode, npc.getId());
+		this.definition = NpcRegistry.role(npc.getId(), NylocasConstants.class);
 	}
 
 	public boolean dead()
@@ -25,22 +25,16 @@
  */
 package com.tobqol.rooms.nylocas.commons;
 
-import com.google.common.collect.*;
-import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.NpcRegistry;
+import com.tobqol.api.game.TileTrigger;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.runelite.api.NpcID;
 import net.runelite.api.NullNpcID;
-import net.runelite.api.Point;
 
 import javax.annotation.Nullable;
 import java.awt.*;
-import java.util.List;
-import java.util.Set;
-import java.util.regex.Pattern;
-
-import static com.google.common.collect.Tables.immutableCell;
 
 @RequiredArgsConstructor
 @Getter
@@ -110,8 +104,6 @@ public enum NylocasConstants
 	public static int BOSS_IMAGE = 25750;
 	public static int NYLOCAS_WAVES_TOTAL = 31;
 
-	public static Pattern NYLOCAS_WAVE = Pattern.compile("Wave 'The Nylocas' \\(.*\\) complete!");
-
 	public static final String BOSS_NAME = "Nylocas Vasilias";
 	public static final String DEMI_BOSS_NAME = "Nylocas Prinkipas";
 	public static final String MELEE_NAME = "Nylocas Ischyros";
@@ -140,142 +132,75 @@ public enum NylocasConstants
 	public static final int UNK_DESPAWN_GRAPHIC_4 = 1893;
 	public static final int UNK_DESPAWN_GRAPHIC_5 = 1894;
 
-	private static final ImmutableMultimap<NylocasConstants, Integer> ENUM_MULTIMAP;
-	private static final Table<Instance.Mode, Integer, NylocasConstants> LOOKUP_TABLE;
-	private static final ImmutableMultimap<NylocasType, Integer> TYPE_IDS;
-
 	public static final Color MAGIC_COLOR = Color.CYAN;
 	public static final Color MELEE_COLOR = new Color(255, 188, 188);
 	public static final Color RANGE_COLOR = Color.GREEN;
 
-	public static final Set<Point> NYLOCAS_VALID_SPAWNS = ImmutableSet.of(
-			new Point(17, 24), new Point(17, 25), new Point(18, 24), new Point(18, 25),
-			new Point(31, 9), new Point(31, 10), new Point(32, 9), new Point(32, 10),
-			new Point(46, 24), new Point(46, 25), new Point(47, 24), new Point(47, 25)
+	public static final TileTrigger NYLOCAS_VALID_SPAWNS = TileTrigger.of(
+			17, 24, 17, 25, 18, 24, 18, 25,
+			31, 9, 31, 10, 32, 9, 32, 10,
+			46, 24, 46, 25, 47, 24, 47, 25
 	);
 
-	static
-	{
-		ImmutableMultimap.Builder<NylocasConstants, Integer> enum_builder = ImmutableListMultimap.builder();
-		ImmutableTable.Builder<Instance.Mode, Integer, NylocasConstants> t_builder = ImmutableTable.builder();
-
-		for (NylocasConstants def : values())
-		{
-			if (def.sm == -1 && def.rg == -1)
-			{
-				enum_builder.put(def, def.hm);
-				t_builder.put(immutableCell(Instance.Mode.HARD, def.hm, def));
-				continue;
-			}
-
-			enum_builder.putAll(def, def.sm, def.rg, def.hm);
-			t_builder.put(immutableCell(Instance.Mode.STORY, def.sm, def));
-			t_builder.put(immutableCell(Instance.Mode.REGULAR, def.rg, def));
-			t_builder.put(immutableCell(Instance.Mode.HARD, def.hm, def));
-
-			if (def.aggro_sm == -1 && def.aggro_rg == -1 && def.aggro_hm == -1)
-			{
-				continue;
-			}
-
-			enum_builder.putAll(def, def.aggro_sm, def.aggro_rg, def.aggro_hm);
-			t_builder.put(immutableCell(Instance.Mode.STORY, def.aggro_sm, def));
-			t_builder.put(immutableCell(Instance.Mode.REGULAR, def.aggro_rg, def));
-			t_builder.put(immutableCell(Instance.Mode.HARD, def.aggro_hm, def));
-		}
-
-		ENUM_MULTIMAP = enum_builder.build();
-		LOOKUP_TABLE = t_builder.build();
-
-		ImmutableMultimap.Builder<NylocasType, Integer> type_ids = ImmutableListMultimap.builder();
-
-		List<NylocasConstants> melees = ImmutableList.of(
-				BOSS_DROPPING_MELEE,
-				BOSS_MELEE,
-				BOSS_MAGIC,
-				BOSS_RANGE
-		);
-
-		melees.forEach(def -> type_ids.putAll(NylocasType.BOSS, def.sm, def.rg, def.hm));
-
-		List<NylocasConstants> demis = ImmutableList.of(
-				DEMI_BOSS_DROPPING_MELEE,
-				DEMI_BOSS_MELEE,
-				DEMI_BOSS_MAGIC,
-				DEMI_BOSS_RANGE
-		);
-
-		demis.forEach(def -> type_ids.putAll(NylocasType.DEMI, def.hm));
-
-		List<NylocasConstants> bigs = ImmutableList.of(
-				MELEE_BIG,
-				RANGE_BIG,
-				MAGIC_BIG
-		);
-
-		bigs.forEach(def -> type_ids.putAll(NylocasType.BIG, def.sm, def.rg, def.hm, def.aggro_sm, def.aggro_rg, def.aggro_hm));
-
-		List<NylocasConstants> smalls = ImmutableList.of(
-				MELEE_SMALL,
-				RANGE_SMALL,
-				MAGIC_SMALL
-		);
-
-		smalls.forEach(def -> type_ids.putAll(NylocasType.SMALL, def.sm, def.rg, def.hm, def.aggro_sm, def.aggro_rg, def.aggro_hm));
-
-		TYPE_IDS = type_ids.build();
-	}
-
-	public static boolean matchesAnyMode(NylocasConstants def, int npcId)
-	{
-		if (def == null)
-		{
-			return false;
-		}
-
-		return ENUM_MULTIMAP.get(def).contains(npcId);
-	}
-
 	@Nullable
-	public static NylocasConstants queryTable(Instance.Mode mode, int npcId)
+	public NylocasType type()
 	{
-		if (mode == null)
+		switch (this)
 		{
-			return null;
+			case BOSS_DROPPING_MELEE:
+			case BOSS_MELEE:
+			case BOSS_MAGIC:
+			case BOSS_RANGE:
+				return NylocasType.BOSS;
+			case DEMI_BOSS_DROPPING_MELEE:
+			case DEMI_BOSS_MELEE:
+			case DEMI_BOSS_MAGIC:
+			case DEMI_BOSS_RANGE:
+				return NylocasType.DEMI;
+			case MELEE_BIG:
+			case RANGE_BIG:
+			case MAGIC_BIG:
+				return NylocasType.BIG;
+			case MELEE_SMALL:
+			case RANGE_SMALL:
+			case MAGIC_SMALL:
+				return NylocasType.SMALL;
+			default:
+				return null;
 		}
-
-		return LOOKUP_TABLE.get(mode, npcId);
 	}
 
 	@Nullable
-	public static Instance.Mode findMode(int npcId)
+	public static NylocasType typeOf(int npcId)
 	{
-		return Instance.findFirstMode(mode -> queryTable(mode, npcId) != null);
+		NylocasConstants def = NpcRegistry.role(npcId, NylocasConstants.class);
+		return def == null ? null : def.type();
 	}
 
 	public static boolean isBoss(int npcId)
 	{
-		return TYPE_IDS.get(NylocasType.BOSS).contains(npcId);
+		return typeOf(npcId) == NylocasType.BOSS;
 	}
 
 	public static boolean isDemiBoss(int npcId)
 	{
-		return TYPE_IDS.get(NylocasType.DEMI).contains(npcId);
+		return typeOf(npcId) == NylocasType.DEMI;
 	}
 
 	public static boolean isBigNylo(int npcId)
 	{
-		return TYPE_IDS.get(NylocasType.BIG).contains(npcId);
+		return typeOf(npcId) == NylocasType.BIG;
 	}
 
 	public static boolean isSmallNylo(int npcId)
 	{
-		return TYPE_IDS.get(NylocasType.SMALL).contains(npcId);
+		return typeOf(npcId) == NylocasType.SMALL;
 	}
 
 	public static boolean isWavesNylo(int npcId)
 	{
-		return isBigNylo(npcId) || isSmallNylo(npcId);
+		NylocasType type = typeOf(npcId);
+		return type == NylocasType.BIG || type == NylocasType.SMALL;
 	}
 
 	NylocasConstants(int sm, int rg, int hm)
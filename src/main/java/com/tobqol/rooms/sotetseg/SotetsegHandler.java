@@ -27,7 +27,10 @@ package com.tobqol.rooms.sotetseg;
 
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
+import com.tobqol.api.game.NpcRegistry;
 import com.tobqol.api.game.Region;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
 import com.tobqol.rooms.RoomHandler;
 import com.tobqol.rooms.sotetseg.commons.MutableMaze;
 import com.tobqol.rooms.sotetseg.commons.SotetsegNotification;
@@ -48,18 +51,19 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.party.PartyService;
 import net.runelite.client.party.WSClient;
-import net.runelite.client.util.Text;
 
 import javax.annotation.CheckForNull;
 import javax.inject.Inject;
 import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
 import java.awt.*;
+import java.util.function.Supplier;
 
 import static com.tobqol.api.game.Region.SOTETSEG;
 import static com.tobqol.rooms.sotetseg.commons.SotetsegConstants.*;
 import static com.tobqol.rooms.sotetseg.commons.SotetsegTable.SOTETSEG_CLICKABLE;
+import static com.tobqol.tracking.RoomDataKeys.*;
 import static com.tobqol.tracking.RoomInfoUtil.createInfoBox;
+import static com.tobqol.tracking.RoomInfoUtil.formatSplits;
 import static com.tobqol.tracking.RoomInfoUtil.formatTime;
 
 @Slf4j
@@ -76,6 +80,11 @@ public class SotetsegHandler extends RoomHandler
 
 	private RoomInfoBox sotetsegInfoBox;
 
+	private static final String[] TOOLTIP_SPLITS = { "66%", "33%", "Complete" };
+
+	// Ticks before a missed death ball despawn stops blocking the next one
+	private static final int DEATH_BALL_SAFETY_TICKS = 35;
+
 	@Getter
 	private boolean clickable = false;
 
@@ -89,9 +98,9 @@ public class SotetsegHandler extends RoomHandler
 
 	private boolean considerTeleport = true;
 
-	private static Clip soundClip;
+	private Clip soundClip;
 	private boolean deathBallSpawned = false;
-	private int deathBallSafetyNet = 0;
+	private int deathBallExpiry = -1;
 
 	@Getter
 	@Setter
@@ -117,7 +126,7 @@ public class SotetsegHandler extends RoomHandler
 	public void load()
 	{
 		overlayManager.add(sceneOverlay);
-		soundClip = generateSoundClip("weewoo-hoyaa.wav", config.sotetsegSoundClipVolume());
+		soundClip = loadSoundClip("weewoo-hoyaa.wav");
 
 		wsClient.registerMessage(SotetsegNotification.class);
 	}
@@ -126,7 +135,6 @@ public class SotetsegHandler extends RoomHandler
 	public void unload()
 	{
 		overlayManager.remove(sceneOverlay);
-		soundClip.close();
 		wsClient.unregisterMessage(SotetsegNotification.class);
 		reset();
 	}
@@ -146,7 +154,7 @@ public class SotetsegHandler extends RoomHandler
 		portal = null;
 		considerTeleport = true;
 		deathBallSpawned = false;
-		deathBallSafetyNet = 0;
+		deathBallExpiry = -1;
 		chosen = false;
 		chosenTextTimeout = 0;
 
@@ -157,7 +165,8 @@ public class SotetsegHandler extends RoomHandler
 	}
 
 	@Subscribe
-	private void onConfigChanged(ConfigChanged e)
+	@Override
+	public void onConfigChanged(ConfigChanged e)
 	{
 		if (!e.getGroup().equals(TheatreQOLConfig.GROUP_NAME) || !instance.getCurrentRegion().isSotetsegUnderworld())
 		{
@@ -168,7 +177,7 @@ public class SotetsegHandler extends RoomHandler
 		{
 			case "sotetsegHideUnderworldRocks":
 			{
-				when(config.sotetsegHideUnderworldRocks(), this::hideUnderworldRocks, sceneManager::refreshScene);
+				when(config.sotetsegHideUnderworldRocks(), this::hideUnderworldRocks, this::showUnderworldRocks);
 				break;
 			}
 
@@ -176,15 +185,7 @@ public class SotetsegHandler extends RoomHandler
 			{
 				if (soundClip != null && config.sotetsegSoundClip())
 				{
-					FloatControl control = (FloatControl) soundClip.getControl(FloatControl.Type.MASTER_GAIN);
-
-					if (control != null)
-					{
-						control.setValue((float)(config.sotetsegSoundClipVolume() / 2 - 45));
-					}
-
-					soundClip.setFramePosition(0);
-					soundClip.start();
+					playSoundClip(soundClip, config.sotetsegSoundClipVolume());
 				}
 			}
 		}
@@ -195,15 +196,15 @@ public class SotetsegHandler extends RoomHandler
 	{
 		if (instance.isInRaid() && instance.getCurrentRegion().isSotetseg())
 		{
-			if (instance.getRoomStatus() == 1 && !dataHandler.Find("Starting Tick").isPresent())
+			if (instance.getRoomStatus() == 1 && !dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
 				dataHandler.setShouldTrack(true);
 
-				dataHandler.getData().add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "33%"));
+				dataHandler.add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "33%"));
 			}
 
-			if (dataHandler.isShouldTrack() && !dataHandler.getData().isEmpty())
+			if (dataHandler.isShouldTrack() && !dataHandler.isEmpty())
 			{
 				dataHandler.updateTotalTime();
 			}
@@ -219,9 +220,8 @@ public class SotetsegHandler extends RoomHandler
 			considerTeleport = true;
 		}
 
-		if (deathBallSpawned && deathBallSafetyNet++ == 35)
+		if (deathBallSpawned && client.getTickCount() >= deathBallExpiry)
 		{
-			deathBallSafetyNet = 0;
 			deathBallSpawned = false;
 		}
 
@@ -271,9 +271,9 @@ public class SotetsegHandler extends RoomHandler
 	{
 		isNpcFromName(e.getNpc(), BOSS_NAME, n ->
 		{
-			instance.lazySetMode(() -> SotetsegTable.findMode(n.getId()));
+			instance.lazySetMode(() -> NpcRegistry.mode(n.getId()));
 			sotetsegNpc = n;
-			clickable = SotetsegTable.anyMatch(SOTETSEG_CLICKABLE, n.getId());
+			clickable = NpcRegistry.is(n.getId(), SOTETSEG_CLICKABLE);
 		});
 	}
 
@@ -287,11 +287,11 @@ public class SotetsegHandler extends RoomHandler
 
 		isNpcFromName(e.getNpc(), BOSS_NAME, n ->
 		{
-			if (clickable = SotetsegTable.anyMatch(SOTETSEG_CLICKABLE, n.getId()))
+			if (clickable = NpcRegistry.is(n.getId(), SOTETSEG_CLICKABLE))
 			{
-				if (!dataHandler.Find("Starting Tick").isPresent())
+				if (!dataHandler.contains(STARTING_TICK))
 				{
-					dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+					dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
 					dataHandler.setShouldTrack(true);
 				}
 
@@ -385,11 +385,11 @@ public class SotetsegHandler extends RoomHandler
 		{
 			if (config.sotetsegSoundClip())
 			{
-				soundClip.setFramePosition(0);
-				soundClip.start();
+				playSoundClip(soundClip, config.sotetsegSoundClipVolume());
 			}
 
 			deathBallSpawned = true;
+			deathBallExpiry = client.getTickCount() + DEATH_BALL_SAFETY_TICKS;
 		}
 
 		if (!theme.isDefault())
@@ -471,8 +471,8 @@ public class SotetsegHandler extends RoomHandler
 		{
 			if (considerTeleport && event.getActor().getAnimation() == MAZE_TELE_ANIM)
 			{
-				boolean phase = dataHandler.Find("66%").isPresent();
-				dataHandler.getData().add(new RoomDataItem(phase ? "33%" : "66%", dataHandler.getTime(), phase ? 2 : 1, !config.displayTimeSplits()));
+				boolean phase = dataHandler.contains(SOTETSEG_66);
+				dataHandler.add(new RoomDataItem(phase ? "33%" : "66%", dataHandler.getTime(), phase ? 2 : 1, !config.displayTimeSplits()));
 				considerTeleport = false;
 
 				if (deathBallSpawned)
@@ -484,33 +484,26 @@ public class SotetsegHandler extends RoomHandler
 	}
 
 	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	public void onTheatreChatMessage(TheatreChatMessage event)
 	{
-		if (instance.getCurrentRegion() != SOTETSEG && event.getType() != ChatMessageType.GAMEMESSAGE)
-		{
-			return;
-		}
-
-		String stripped = Text.removeTags(event.getMessage());
-
-		if (stripped.equals(SOTETSEG_DEATHBALL) && party.isInParty())
+		if (event.getType() == TheatreMessage.SOTETSEG_DEATH_BALL && party.isInParty())
 		{
 			clientThread.invokeLater(() -> party.send(new SotetsegNotification(client.getLocalPlayer().getName(), true)));
 		}
 
-		if (SOTETSEG_WAVE.matcher(stripped).find())
+		if (event.getType() == TheatreMessage.SOTETSEG_COMPLETE)
 		{
 			dataHandler.setShouldTrack(false);
-			dataHandler.Find("Room").get().setValue(dataHandler.getTime());
+			dataHandler.setValue(ROOM, dataHandler.getTime());
 
 			if (config.displayRoomTimes().isInfobox())
 			{
-				buildInfobox();
+				defer(this::buildInfobox);
 			}
 
 			if (config.displayRoomTimes().isChat())
 			{
-				sendChatTimes();
+				defer(this::sendChatTimes);
 			}
 		}
 	}
@@ -528,11 +521,11 @@ public class SotetsegHandler extends RoomHandler
 			{
 				if (config.sotetsegSoundClip())
 				{
-					soundClip.setFramePosition(0);
-					soundClip.start();
+					playSoundClip(soundClip, config.sotetsegSoundClipVolume());
 				}
 
 				deathBallSpawned = true;
+				deathBallExpiry = client.getTickCount() + DEATH_BALL_SAFETY_TICKS;
 				enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 						.append(new Color(167, 112, 225), event.getName() + " has discovered a large ball of energy shot their way..."));
 			}
@@ -541,46 +534,46 @@ public class SotetsegHandler extends RoomHandler
 
 	private void buildInfobox()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			String tooltip;
+			final int room = dataHandler.getValue(ROOM);
+			Supplier<String> tooltip;
 
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
-				tooltip = "66% - " + formatTime(dataHandler.FindValue("66%")) + "</br>" +
-						"33% - " + formatTime(dataHandler.FindValue("33%")) + formatTime(dataHandler.FindValue("33%"), dataHandler.FindValue("66%")) + "</br>" +
-						"Complete - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("33%"));
+				final int[] splits = { dataHandler.getValue(SOTETSEG_66), dataHandler.getValue(SOTETSEG_33), room };
+				tooltip = () -> formatSplits(TOOLTIP_SPLITS, splits);
 			}
 			else
 			{
-				tooltip = "Complete - " + formatTime(dataHandler.FindValue("Room")) + "*";
+				tooltip = () -> "Complete - " + formatTime(room) + "*";
 			}
 
-			sotetsegInfoBox = createInfoBox(plugin, config, itemManager.getImage(BOSS_IMAGE), "Sotetseg", formatTime(dataHandler.FindValue("Room")), tooltip);
+			sotetsegInfoBox = createInfoBox(plugin, itemManager.getImage(BOSS_IMAGE), "Sotetseg", formatTime(room), tooltip);
 			infoBoxManager.addInfoBox(sotetsegInfoBox);
 		}
 	}
 
 	private void sendChatTimes()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
 				enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 						.append(Color.RED, "66%")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("66%")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(SOTETSEG_66)) + " - ")
 						.append(Color.RED, "33%")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("33%")) + formatTime(dataHandler.FindValue("33%"), dataHandler.FindValue("66%"))));
+						.append(" - " + formatTime(dataHandler.getValue(SOTETSEG_33)) + formatTime(dataHandler.getValue(SOTETSEG_33), dataHandler.getValue(SOTETSEG_66))));
 
 				if (config.roomTimeValidation())
 				{
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Sotetseg - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("33%"))));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + formatTime(dataHandler.getValue(ROOM), dataHandler.getValue(SOTETSEG_33))));
 				}
 			}
 			else
@@ -590,7 +583,7 @@ public class SotetsegHandler extends RoomHandler
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Sotetseg - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + "*"));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + "*"));
 				}
 			}
 		}
@@ -604,6 +597,11 @@ public class SotetsegHandler extends RoomHandler
 		}
 	}
 
+	private void showUnderworldRocks()
+	{
+		sceneManager.restoreTheseGameObjects(3, UNDERWORLD_ROCKS);
+	}
+
 	private void hideUnderworldTornado()
 	{
 		if (instance.getCurrentRegion().isSotetsegUnderworld())
@@ -58,7 +58,7 @@ public class SotetsegSceneOverlay extends RoomSceneOverlay<SotetsegHandler>
 	{
 		if (!room.active() || room.isClickable())
 		{
-			if (config.debugSotetsegChosenText())
+			if (plugin.getConfigSnapshot().debugSotetsegChosenText())
 			{
 				drawChosenOverlay(graphics);
 			}
@@ -76,7 +76,7 @@ public class SotetsegSceneOverlay extends RoomSceneOverlay<SotetsegHandler>
 
 	private void drawSoteInstanceTimers(Graphics2D graphics)
 	{
-		SotetsegInstanceTimerTypes type = config.getSotetsegInstanceTimerType();
+		SotetsegInstanceTimerTypes type = plugin.getConfigSnapshot().sotetsegInstanceTimerType();
 		graphics.setFont(plugin.getInstanceTimerFont());
 
 		switch (instance.getRoomStatus())
@@ -99,13 +99,14 @@ public class SotetsegSceneOverlay extends RoomSceneOverlay<SotetsegHandler>
 
 	private void drawChosenOverlay(Graphics2D graphics)
 	{
-		if ((room.isChosen() || config.debugSotetsegChosenText()) && config.hideSotetsegWhiteScreen() && config.showSotetsegChosenText())
+		if ((room.isChosen() || plugin.getConfigSnapshot().debugSotetsegChosenText()) && plugin.getConfigSnapshot().hideSotetsegWhiteScreen() && plugin.getConfigSnapshot().showSotetsegChosenText())
 		{
 			String text = "You have been chosen.";
-			graphics.setFont(new Font(config.fontType().getName(), config.fontStyle().getValue(), 20));
-			int width = graphics.getFontMetrics().stringWidth(text);
+			Font font = plugin.getFontRegistry().getChosenTextFont();
+			graphics.setFont(font);
+			int width = plugin.getFontRegistry().getMetrics(graphics, font).stringWidth(text);
 			int drawX = client.getViewportWidth() / 2 - width / 2;
-			int drawY = client.getViewportHeight() - (client.getViewportHeight() / 2) + (config.sotetsegChosenTextOffset() * 10);
+			int drawY = client.getViewportHeight() - (client.getViewportHeight() / 2) + (plugin.getConfigSnapshot().sotetsegChosenTextOffset() * 10);
 			OverlayUtil.renderTextLocation(graphics, new net.runelite.api.Point(drawX, drawY), text, Color.WHITE);
 		}
 	}
@@ -27,16 +27,12 @@ package com.tobqol.rooms.sotetseg.commons;
 
 import com.google.common.collect.ImmutableList;
 
-import java.util.regex.Pattern;
-
 public interface SotetsegConstants
 {
 	String BOSS_NAME = "Sotetseg";
 
 	int BOSS_IMAGE = 25751;
 
-	Pattern SOTETSEG_WAVE = Pattern.compile("Wave 'Sotetseg' \\(.*\\) complete!");
-
 	String SOTETSEG_DEATHBALL_RAW = "<col=bf0000>A large ball of energy is shot your way...</col>";
 	String SOTETSEG_DEATHBALL = "A large ball of energy is shot your way...";
 
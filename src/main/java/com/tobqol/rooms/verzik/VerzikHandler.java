@@ -27,7 +27,12 @@ package com.tobqol.rooms.verzik;
 
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
+import com.tobqol.api.game.NpcRegistry;
+import com.tobqol.api.game.NpcSlotMap;
 import com.tobqol.api.game.Region;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
+import com.tobqol.api.util.ObjectPool;
 import com.tobqol.rooms.RoomHandler;
 import com.tobqol.rooms.verzik.commons.Tornado;
 import com.tobqol.rooms.verzik.commons.VerzikMap;
@@ -42,23 +47,22 @@ import net.runelite.api.events.*;
 import net.runelite.client.chat.ChatColorType;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
-import net.runelite.client.util.Text;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
 import javax.inject.Inject;
 import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.tobqol.api.game.Region.XARPUS;
 import static com.tobqol.rooms.verzik.commons.VerzikMap.*;
+import static com.tobqol.tracking.RoomDataKeys.*;
 import static com.tobqol.tracking.RoomInfoUtil.createInfoBox;
+import static com.tobqol.tracking.RoomInfoUtil.formatSplits;
 import static com.tobqol.tracking.RoomInfoUtil.formatTime;
 
 @Slf4j
@@ -74,22 +78,28 @@ public class VerzikHandler extends RoomHandler
 
 	private RoomInfoBox verzikInfoBox;
 
+	private static final String[] TOOLTIP_SPLITS = { "P1", "Reds", "P2", "Complete" };
+
+	// Ticks before a missed green ball despawn stops blocking the next one
+	private static final int DEATH_BALL_SAFETY_TICKS = 10;
+
 	@Getter
-	private final Map<NPC, Pair<Integer, Integer>> verzikReds = new HashMap<>();
+	private final NpcSlotMap<Pair<Integer, Integer>> verzikReds = npcSlots();
 
 	@Getter
-	private final ArrayList<Tornado> tornadoes = new ArrayList<>();
+	private final NpcSlotMap<Tornado> tornadoes = npcSlots(this::releaseTornado);
+
+	private final ObjectPool<Tornado> tornadoPool = new ObjectPool<>(Tornado::new, 8);
 
 	@Getter
 	private final List<WorldPoint> yellows = new ArrayList<>();
 
 	private boolean allYellowsSpawned = false;
 
-	@Getter
-	private byte ticksLeft = -1;
-	private static Clip soundClip;
+	private int yellowsExpiry = -1;
+	private Clip soundClip;
 	private boolean deathBallSpawned = false;
-	private int deathBallSafetyNet = 0;
+	private int deathBallExpiry = -1;
 
 	@Inject
 	protected VerzikHandler(TheatreQOLPlugin plugin, TheatreQOLConfig config)
@@ -104,14 +114,13 @@ public class VerzikHandler extends RoomHandler
 	public void load()
 	{
 		overlayManager.add(overlay);
-		soundClip = generateSoundClip("weewoo-hoyaa.wav", config.sotetsegSoundClipVolume());
+		soundClip = loadSoundClip("weewoo-hoyaa.wav");
 	}
 
 	@Override
 	public void unload()
 	{
 		overlayManager.remove(overlay);
-		soundClip.close();
 		reset();
 	}
 
@@ -121,16 +130,22 @@ public class VerzikHandler extends RoomHandler
 		return instance.getCurrentRegion().isVerzik();
 	}
 
+	@Override
+	protected boolean cullsDeadNpcs()
+	{
+		return plugin.getConfigSnapshot().verzikLowDetail();
+	}
+
 	@Override
 	public void reset()
 	{
 		verzikNpc = null;
 		verzikReds.clear();
 		tornadoes.clear();
-		ticksLeft = -1;
+		yellowsExpiry = -1;
 		yellows.clear();
 		deathBallSpawned = false;
-		deathBallSafetyNet = 0;
+		deathBallExpiry = -1;
 
 		if (instance.getRaidStatus() <= 1)
 		{
@@ -139,7 +154,8 @@ public class VerzikHandler extends RoomHandler
 	}
 
 	@Subscribe
-	private void onConfigChanged(ConfigChanged e)
+	@Override
+	public void onConfigChanged(ConfigChanged e)
 	{
 		if (!e.getGroup().equals(TheatreQOLConfig.GROUP_NAME) || !instance.getCurrentRegion().isSotetsegUnderworld())
 		{
@@ -152,15 +168,7 @@ public class VerzikHandler extends RoomHandler
 			{
 				if (soundClip != null && config.verzikSoundClip())
 				{
-					FloatControl control = (FloatControl) soundClip.getControl(FloatControl.Type.MASTER_GAIN);
-
-					if (control != null)
-					{
-						control.setValue((float)(config.sotetsegSoundClipVolume() / 2 - 45));
-					}
-
-					soundClip.setFramePosition(0);
-					soundClip.start();
+					playSoundClip(soundClip, config.verzikSoundClipVolume());
 				}
 			}
 		}
@@ -184,19 +192,19 @@ public class VerzikHandler extends RoomHandler
 		int id = npc.getId();
 		String name = npc.getName();
 
-		if (VerzikMap.matchesAnyMode(VerzikMap.RED_NYLO, npc.getId()))
+		if (NpcRegistry.is(npc.getId(), VerzikMap.RED_NYLO))
 		{
 			verzikReds.putIfAbsent(npc, MutablePair.of(npc.getHealthRatio(), npc.getHealthScale()));
 
-			if (!dataHandler.Find("Reds").isPresent())
+			if (!dataHandler.contains(VERZIK_REDS))
 			{
-				dataHandler.getData().add(new RoomDataItem("Reds", dataHandler.getTime(), false));
+				dataHandler.add(new RoomDataItem("Reds", dataHandler.getTime(), false));
 			}
 		}
 
-		if (VerzikMap.matchesAnyMode(VerzikMap.TORNADO, id))
+		if (NpcRegistry.is(id, VerzikMap.TORNADO))
 		{
-			tornadoes.add(new Tornado(npc));
+			tornadoes.put(npc, tornadoPool.obtain().init(npc));
 		}
 
 		if (name == null)
@@ -207,7 +215,7 @@ public class VerzikHandler extends RoomHandler
 		switch (name)
 		{
 			case VerzikMap.BOSS_NAME:
-				instance.lazySetMode(() -> VerzikMap.findMode(id));
+				instance.lazySetMode(() -> NpcRegistry.mode(id));
 				reset();
 				verzikNpc = npc;
 				break;
@@ -222,7 +230,7 @@ public class VerzikHandler extends RoomHandler
 			return;
 		}
 
-		VerzikMap def = VerzikMap.queryTable(e.getNpc().getId());
+		VerzikMap def = NpcRegistry.role(e.getNpc().getId(), VerzikMap.class);
 
 		if (def == null)
 		{
@@ -231,9 +239,9 @@ public class VerzikHandler extends RoomHandler
 
         if (def == VERZIK_P1)
         {
-            if (!dataHandler.Find("Starting Tick").isPresent())
+            if (!dataHandler.contains(STARTING_TICK))
             {
-                dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+                dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
                 dataHandler.setShouldTrack(true);
             }
         }
@@ -251,13 +259,13 @@ public class VerzikHandler extends RoomHandler
 		String name = npc.getName();
 
 		verzikReds.remove(npc);
-        tornadoes.remove(npc);
+		tornadoes.remove(npc);
 
-		if(VerzikMap.queryTable(npc.getId()) == VERZIK_P1)
+		if(NpcRegistry.role(npc.getId(), VerzikMap.class) == VERZIK_P1)
 		{
-			if (!dataHandler.Find("P1").isPresent())
+			if (!dataHandler.contains(VERZIK_PHASE_1))
 			{
-				dataHandler.getData().add(new RoomDataItem("P1", dataHandler.getTime(), !config.displayTimeSplits()));
+				dataHandler.add(new RoomDataItem("P1", dataHandler.getTime(), !config.displayTimeSplits()));
 			}
 		}
 
@@ -279,26 +287,42 @@ public class VerzikHandler extends RoomHandler
 	{
 		if (instance.isInRaid() && instance.getCurrentRegion().isVerzik())
 		{
-			if (instance.getRoomStatus() == 1 && !dataHandler.Find("Starting Tick").isPresent())
+			if (instance.getRoomStatus() == 1 && !dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
+				dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true, true));
 				dataHandler.setShouldTrack(true);
 
-				dataHandler.getData().add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "P2"));
+				dataHandler.add(new RoomDataItem("Room", dataHandler.getTime(), 99, false, "P2"));
 			}
 
-			if (dataHandler.isShouldTrack() && !dataHandler.getData().isEmpty())
+			if (dataHandler.isShouldTrack() && !dataHandler.isEmpty())
 			{
 				dataHandler.updateTotalTime();
 			}
 		}
 
-		if (!active() || verzikNpc == null)
+		if (!active())
 		{
 			return;
 		}
 
-		VerzikMap def = VerzikMap.queryTable(verzikNpc.getId());
+		if (!verzikReds.isEmpty())
+		{
+			verzikReds.forEach((red, hp) ->
+			{
+				if (red.isDead())
+				{
+					recordDead(red);
+				}
+			});
+		}
+
+		if (verzikNpc == null)
+		{
+			return;
+		}
+
+		VerzikMap def = NpcRegistry.role(verzikNpc.getId(), VerzikMap.class);
 
 		if (def == null)
 		{
@@ -308,32 +332,24 @@ public class VerzikHandler extends RoomHandler
 		switch (def)
 		{
 			case VERZIK_P3:
-				tornadoes.forEach(t -> t.shift());
-
-				if (!yellows.isEmpty() && !allYellowsSpawned)
-				{
-					ticksLeft = 14;
+				tornadoes.values().forEach(Tornado::shift);
 
-					if (instance.isHardMode())
-					{
-						ticksLeft = 17;
-					}
+				int tick = client.getTickCount();
 
-					allYellowsSpawned = true;
+				if (deathBallSpawned && tick >= deathBallExpiry)
+				{
+					deathBallSpawned = false;
 				}
 
-				if (ticksLeft <= 0)
+				if (!yellows.isEmpty() && !allYellowsSpawned)
 				{
-					yellows.clear();
-					return;
+					yellowsExpiry = tick + (instance.isHardMode() ? 17 : 14);
+					allYellowsSpawned = true;
 				}
 
-				ticksLeft--;
-
-				if (deathBallSpawned && deathBallSafetyNet++ == 10)
+				if (tick >= yellowsExpiry)
 				{
-					deathBallSafetyNet = 0;
-					deathBallSpawned = false;
+					yellows.clear();
 				}
 				break;
 		}
@@ -381,112 +397,98 @@ public class VerzikHandler extends RoomHandler
 	{
 		if (event.getActor().getAnimation() == VERZIK_P2_TRANSITION)
 		{
-			if (!dataHandler.Find("P2").isPresent())
+			if (!dataHandler.contains(VERZIK_PHASE_2))
 			{
-				dataHandler.getData().add(new RoomDataItem("P2", dataHandler.getTime(), !config.displayTimeSplits()));
+				dataHandler.add(new RoomDataItem("P2", dataHandler.getTime(), !config.displayTimeSplits()));
 			}
 		}
 	}
 
 	@Subscribe
-	public void onAreaSoundEffectPlayed(AreaSoundEffectPlayed event)
+	public void onTheatreChatMessage(TheatreChatMessage event)
 	{
-		if (event.getSource() != null && event.getSource().getName() != null && verzikNpc != null && config.muteVerzikSounds())
-		{
-			if (event.getSoundId() == 3991 || event.getSoundId() == 3987)
-			{
-				event.consume();
-			}
-		}
-	}
-
-	@Subscribe
-	public void onChatMessage(ChatMessage event)
-	{
-		if (instance.getCurrentRegion() != XARPUS && event.getType() != ChatMessageType.GAMEMESSAGE)
-		{
-			return;
-		}
-
-		String stripped = Text.removeTags(event.getMessage());
-
-		if (VERZIK_WAVE.matcher(stripped).find())
+		if (event.getType() == TheatreMessage.VERZIK_COMPLETE)
 		{
 			dataHandler.setShouldTrack(false);
-			dataHandler.Find("Room").get().setValue(dataHandler.getTime());
+			dataHandler.setValue(ROOM, dataHandler.getTime());
 
 			if (config.displayRoomTimes().isInfobox())
 			{
-				buildInfobox();
+				defer(this::buildInfobox);
 			}
 
 			if (config.displayRoomTimes().isChat())
 			{
-				sendChatTimes();
+				defer(this::sendChatTimes);
 			}
 		}
 
-		if (event.getMessage().contains(GREEN_BALL_TEXT) || event.getMessage().contains(GREEN_BALL_BOUNCE_TEXT))
+		if (event.getType() == TheatreMessage.VERZIK_GREEN_BALL || event.getType() == TheatreMessage.VERZIK_GREEN_BALL_BOUNCE)
 		{
 			if (!deathBallSpawned)
 			{
 				if (config.verzikSoundClip())
 				{
-					soundClip.setFramePosition(0);
-					soundClip.start();
+					playSoundClip(soundClip, config.verzikSoundClipVolume());
 				}
 
 				deathBallSpawned = true;
+				deathBallExpiry = client.getTickCount() + DEATH_BALL_SAFETY_TICKS;
 			}
 		}
 	}
 
+	private void releaseTornado(Tornado tornado)
+	{
+		tornado.clear();
+		tornadoPool.release(tornado);
+	}
+
 	private void buildInfobox()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			String tooltip;
+			final int room = dataHandler.getValue(ROOM);
+			Supplier<String> tooltip;
 
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
-				tooltip = "P1 - " + formatTime(dataHandler.FindValue("P1")) + "</br>" +
-					"Reds - " + formatTime(dataHandler.FindValue("Reds")) + formatTime(dataHandler.FindValue("Reds"), dataHandler.FindValue("P1")) + "</br>" +
-					"P2 - " + formatTime(dataHandler.FindValue("P2")) + formatTime(dataHandler.FindValue("P2"), dataHandler.FindValue("Reds")) + "</br>" +
-					"Complete - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("P2"));
+				final int[] splits = { dataHandler.getValue(VERZIK_PHASE_1), dataHandler.getValue(VERZIK_REDS), dataHandler.getValue(VERZIK_PHASE_2), room };
+				tooltip = () -> formatSplits(TOOLTIP_SPLITS, splits);
 			}
 			else
 			{
-				tooltip = "Complete - " + formatTime(dataHandler.FindValue("Room")) + "*";
+				tooltip = () -> "Complete - " + formatTime(room) + "*";
 			}
 
-			verzikInfoBox = createInfoBox(plugin, config, itemManager.getImage(BOSS_IMAGE), "Verzik", formatTime(dataHandler.FindValue("Room")), tooltip);
+			verzikInfoBox = createInfoBox(plugin, itemManager.getImage(BOSS_IMAGE), "Verzik", formatTime(room), tooltip);
 			infoBoxManager.addInfoBox(verzikInfoBox);
 		}
 	}
 
 	private void sendChatTimes()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
 				enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 						.append(Color.RED, "P1")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("P1")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(VERZIK_PHASE_1)) + " - ")
 						.append(Color.RED, "Reds")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("Reds")) + " - " + formatTime(dataHandler.FindValue("Reds"), dataHandler.FindValue("P1")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(VERZIK_REDS)) + " - " + formatTime(dataHandler.getValue(VERZIK_REDS), dataHandler.getValue(VERZIK_PHASE_1)) + " - ")
 						.append(Color.RED, "P2")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("P2")) + " - " + formatTime(dataHandler.FindValue("P2"), dataHandler.FindValue("Reds"))));
+						.append(" - " + formatTime(dataHandler.getValue(VERZIK_PHASE_2)) + " - " + formatTime(dataHandler.getValue(VERZIK_PHASE_2), dataHandler.getValue(VERZIK_REDS))));
 
 				if (config.roomTimeValidation())
 				{
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Verzik - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("P2"))));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + formatTime(dataHandler.getValue(ROOM), dataHandler.getValue(VERZIK_PHASE_2))));
 				}
 			}
 			else
@@ -496,7 +498,7 @@ public class VerzikHandler extends RoomHandler
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Verzik - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + "*"));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + "*"));
 				}
 			}
 		}
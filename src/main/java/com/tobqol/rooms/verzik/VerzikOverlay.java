@@ -28,6 +28,7 @@ package com.tobqol.rooms.verzik;
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
 import com.tobqol.api.game.Instance;
+import com.tobqol.api.game.NpcRegistry;
 import com.tobqol.rooms.RoomSceneOverlay;
 import com.tobqol.rooms.verzik.commons.VerzikMap;
 import lombok.extern.slf4j.Slf4j;
@@ -75,7 +76,7 @@ public class VerzikOverlay extends RoomSceneOverlay<VerzikHandler>
 			return null;
 		}
 
-		VerzikMap def = VerzikMap.queryTable(verzikNpc.getId());
+		VerzikMap def = NpcRegistry.role(verzikNpc.getId(), VerzikMap.class);
 
 		if (def == null)
 		{
@@ -99,14 +100,14 @@ public class VerzikOverlay extends RoomSceneOverlay<VerzikHandler>
 
 	private void displayTornadoes(Graphics2D graphics)
 	{
-		if (!config.shouldMarkVerzikTornadoes() || room.getTornadoes().isEmpty())
+		if (!plugin.getConfigSnapshot().markVerzikTornadoes() || room.getTornadoes().isEmpty())
 		{
 			return;
 		}
 
-		room.getTornadoes().forEach(t ->
+		room.getTornadoes().values().forEach(t ->
 		{
-			Color color = config.verzikMarkedTornadoColor();
+			Color color = plugin.getConfigSnapshot().verzikMarkedTornadoColor();
 			t.first(client).ifPresent(p -> OverlayUtil.renderPolygon(graphics, p, color));
 			t.second(client).ifPresent(p -> OverlayUtil.renderPolygon(graphics, p, color.darker()));
 		});
@@ -114,7 +115,7 @@ public class VerzikOverlay extends RoomSceneOverlay<VerzikHandler>
 
 	private void displayRedCrabs(Graphics2D graphics)
 	{
-		if (config.verzikReds())
+		if (plugin.getConfigSnapshot().verzikReds())
 		{
 			// First loop: Draw the percentages over the crabs
 			room.getVerzikReds().forEach((crab, v) ->
@@ -147,8 +148,7 @@ public class VerzikOverlay extends RoomSceneOverlay<VerzikHandler>
 			});
 
 			// Second loop: Update stored values if current health info is valid
-			NPC[] reds = room.getVerzikReds().keySet().toArray(new NPC[0]);
-			for (NPC npc : reds)
+			room.getVerzikReds().forEach((npc, v) ->
 			{
 				int currentHealthScale = npc.getHealthScale();
 				int currentHealthRatio = npc.getHealthRatio();
@@ -159,7 +159,7 @@ public class VerzikOverlay extends RoomSceneOverlay<VerzikHandler>
 					room.getVerzikReds().put(npc, newVal);
 				}
 				// If current health ratio is invalid, do not update the stored values
-			}
+			});
 		}
 	}
 }
@@ -40,16 +40,33 @@ import java.util.function.Predicate;
 public class Tornado implements Predicate<NPC>
 {
 	@Getter
-	private final NPC npc;
+	private NPC npc;
 
 	private WorldPoint first;
 	private WorldPoint second;
 
+	public Tornado()
+	{
+	}
+
 	public Tornado(NPC npc)
+	{
+		init(npc);
+	}
+
+	public Tornado init(NPC npc)
 	{
 		this.npc = npc;
 		this.first = npc.getWorldLocation();
 		this.second = this.first;
+		return this;
+	}
+
+	public void clear()
+	{
+		this.npc = null;
+		this.first = null;
+		this.second = null;
 	}
 
 	public Optional<Polygon> first(Client client)
@@ -25,17 +25,13 @@
  */
 package com.tobqol.rooms.verzik.commons;
 
-import com.google.common.collect.*;
-import com.tobqol.api.game.Instance;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.runelite.api.NpcID;
 import net.runelite.api.NullNpcID;
 
-import javax.annotation.Nullable;
 import java.awt.*;
-import java.util.regex.Pattern;
 
 @RequiredArgsConstructor
 @Getter
@@ -63,8 +59,6 @@ public enum VerzikMap
 
 	public static final String BOSS_NAME = "Verzik Vitur";
 
-	public static final Pattern VERZIK_WAVE = Pattern.compile("Wave 'The Final Challenge' \\(.*\\) complete!");
-
 	public static final int BOSS_IMAGE = 22473;
 
 	// TODO -> Find Story Mode/Regular Pillar NPC IDs
@@ -84,105 +78,15 @@ public enum VerzikMap
 	public static final int YELLOW_POOL = 1595;
 	public static final int YELLOW_GRAPHIC = 1597;
 
+	public static final int WEB_PROJ = 1601;
+
+	// P2 area effect and P3 walking
+	public static final int AREA_SOUND_1 = 3991;
+	public static final int AREA_SOUND_2 = 3987;
+
 	public static final int GREEN_BALL = 1598;
 	public static final String GREEN_BALL_TEXT = "Verzik Vitur fires a powerful projectile in your direction...";
 	public static final String GREEN_BALL_BOUNCE_TEXT = "A powerful projectile bounces into your direction...";
 
 	public static final Color VERZIK_COLOR = new Color(176, 92, 204);
-
-	private static final ImmutableMultimap<VerzikMap, Integer> container;
-	private static final Table<Instance.Mode, Integer, VerzikMap> lookupTable;
-
-	static
-	{
-		ImmutableMultimap.Builder<VerzikMap, Integer> mapBuilder = new ImmutableListMultimap.Builder<>();
-		ImmutableTable.Builder<Instance.Mode, Integer, VerzikMap> tableBuilder = new ImmutableTable.Builder<>();
-
-		for (VerzikMap def : values())
-		{
-			mapBuilder.putAll(def, def.sm, def.rg, def.hm);
-
-			tableBuilder.put(Tables.immutableCell(Instance.Mode.STORY, def.sm, def));
-			tableBuilder.put(Tables.immutableCell(Instance.Mode.REGULAR, def.rg, def));
-			tableBuilder.put(Tables.immutableCell(Instance.Mode.HARD, def.hm, def));
-		}
-
-		container = mapBuilder.build();
-		lookupTable = tableBuilder.build();
-	}
-
-	public static boolean matchesAnyMode(VerzikMap def, int npcId)
-	{
-		if (def == null)
-		{
-			return false;
-		}
-
-		return container.get(def).contains(npcId);
-	}
-
-	@Nullable
-	public static VerzikMap queryTable(Instance.Mode mode, int npcId)
-	{
-		if (mode == null)
-		{
-			return null;
-		}
-
-		return lookupTable.get(mode, npcId);
-	}
-
-	@Nullable
-	public static VerzikMap queryTable(int npcId)
-	{
-		for (Instance.Mode mode : Instance.Mode.values())
-		{
-			VerzikMap def = queryTable(mode, npcId);
-
-			if (def == null)
-			{
-				continue;
-			}
-
-			return def;
-		}
-
-		return null;
-	}
-
-	public static boolean isStoryMode(int npcId)
-	{
-		return queryTable(Instance.Mode.STORY, npcId) != null;
-	}
-
-	public static boolean isRegularMode(int npcId)
-	{
-		return queryTable(Instance.Mode.REGULAR, npcId) != null;
-	}
-
-	public static boolean isHardMode(int npcId)
-	{
-		return queryTable(Instance.Mode.HARD, npcId) != null;
-	}
-
-	@Nullable
-	public static Instance.Mode findMode(int npcId)
-	{
-		if (isStoryMode(npcId))
-		{
-			return Instance.Mode.STORY;
-		}
-
-		if (isRegularMode(npcId))
-		{
-			return Instance.Mode.REGULAR;
-		}
-
-		if (isHardMode(npcId))
-		{
-			return Instance.Mode.HARD;
-		}
-
-		return null;
-	}
 }
@@ -28,7 +28,10 @@ package com.tobqol.rooms.xarpus;
 
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
+import com.tobqol.api.game.NpcRegistry;
 import com.tobqol.api.game.Region;
+import com.tobqol.api.game.TheatreChatMessage;
+import com.tobqol.api.game.TheatreMessage;
 import com.tobqol.rooms.RoomHandler;
 import com.tobqol.rooms.xarpus.commons.ExhumedTracker;
 import com.tobqol.rooms.xarpus.commons.XarpusConstants;
@@ -44,19 +47,18 @@ import net.runelite.api.NPC;
 import net.runelite.api.events.*;
 import net.runelite.client.chat.ChatColorType;
 import net.runelite.client.eventbus.Subscribe;
-import net.runelite.client.events.ConfigChanged;
-import net.runelite.client.util.Text;
 
 import javax.annotation.CheckForNull;
 import javax.inject.Inject;
 import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
 import java.awt.*;
+import java.util.function.Supplier;
 
 import static com.tobqol.api.game.Region.XARPUS;
 import static com.tobqol.rooms.xarpus.commons.XarpusConstants.BOSS_IMAGE;
-import static com.tobqol.rooms.xarpus.commons.XarpusConstants.XARPUS_WAVE;
+import static com.tobqol.tracking.RoomDataKeys.*;
 import static com.tobqol.tracking.RoomInfoUtil.createInfoBox;
+import static com.tobqol.tracking.RoomInfoUtil.formatSplits;
 import static com.tobqol.tracking.RoomInfoUtil.formatTime;
 
 @Slf4j
@@ -73,6 +75,8 @@ public class XarpusHandler extends RoomHandler
 
 	private RoomInfoBox xarpuInfoBox;
 
+	private static final String[] TOOLTIP_SPLITS = { "Exhumeds", "Screech", "Complete" };
+
 	@Getter
 	private XarpusPhase phase = XarpusPhase.UNKNOWN;
 
@@ -80,7 +84,9 @@ public class XarpusHandler extends RoomHandler
 	@CheckForNull
 	private ExhumedTracker exhumedTracker = null;
 
-	private static Clip soundClip;
+	private static final String SOUND_CLIP = "sheesh-hoyaa.wav";
+
+	private Clip soundClip;
 
 	@Inject
 	protected XarpusHandler(TheatreQOLPlugin plugin, TheatreQOLConfig config)
@@ -95,14 +101,13 @@ public class XarpusHandler extends RoomHandler
 	public void load()
 	{
 		overlayManager.add(sceneOverlay);
-		soundClip = generateSoundClip("sheesh-hoyaa.wav", config.xarpusSoundClipVolume());
+		soundClip = loadSoundClip(SOUND_CLIP);
 	}
 
 	@Override
 	public void unload()
 	{
 		overlayManager.remove(sceneOverlay);
-		soundClip.close();
 		reset();
 	}
 
@@ -129,27 +134,12 @@ public class XarpusHandler extends RoomHandler
 		}
 	}
 
-	@Subscribe
-	public void onConfigChanged(ConfigChanged event)
+	/**
+	 * Plays the clip at the given volume for the settings panel, where the room itself is never built.
+	 */
+	public static void previewSoundClip(int volume)
 	{
-		if (event.getGroup().equals("tobqol"))
-		{
-			if (event.getKey().equals("xarpusSoundClipVolume") && config.xarpusSoundClip())
-			{
-				if (soundClip != null)
-				{
-					FloatControl control = (FloatControl) soundClip.getControl(FloatControl.Type.MASTER_GAIN);
-
-					if (control != null)
-					{
-						control.setValue((float)(config.xarpusSoundClipVolume() / 2 - 45));
-					}
-
-					soundClip.setFramePosition(0);
-					soundClip.start();
-				}
-			}
-		}
+		playSoundClip(loadSoundClip(SOUND_CLIP), volume);
 	}
 
 	@Subscribe
@@ -162,7 +152,7 @@ public class XarpusHandler extends RoomHandler
 
 		isNpcFromName(e.getNpc(), XarpusConstants.BOSS_NAME, n ->
 		{
-			instance.lazySetMode(() -> XarpusTable.findMode(n.getId()));
+			instance.lazySetMode(() -> NpcRegistry.mode(n.getId()));
 			xarpusNpc = n;
 			phase = XarpusPhase.compose(n);
 
@@ -171,11 +161,11 @@ public class XarpusHandler extends RoomHandler
 				phase = XarpusPhase.P3;
 			}
 
-			if (XarpusTable.anyMatch(XarpusTable.XARPUS_P1, n.getId()))
+			if (NpcRegistry.is(n.getId(), XarpusTable.XARPUS_P1))
 			{
-				if (!dataHandler.Find("Starting Tick").isPresent())
+				if (!dataHandler.contains(STARTING_TICK))
 				{
-					dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+					dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
 					dataHandler.setShouldTrack(true);
 					return;
 				}
@@ -197,20 +187,20 @@ public class XarpusHandler extends RoomHandler
 		{
 			phase = XarpusPhase.compose(n);
 
-			if (XarpusTable.anyMatch(XarpusTable.XARPUS_P1, n.getId()))
+			if (NpcRegistry.is(n.getId(), XarpusTable.XARPUS_P1))
 			{
-				if (!dataHandler.Find("Starting Tick").isPresent())
+				if (!dataHandler.contains(STARTING_TICK))
 				{
-					dataHandler.getData().add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
+					dataHandler.add(new RoomDataItem("Starting Tick", client.getTickCount(), true));
 					dataHandler.setShouldTrack(true);
 					return;
 				}
 			}
-			else if (XarpusTable.anyMatch(XarpusTable.XARPUS_P23, n.getId()))
+			else if (NpcRegistry.is(n.getId(), XarpusTable.XARPUS_P23))
 			{
-				if (!dataHandler.Find("Exhumeds").isPresent())
+				if (!dataHandler.contains(XARPUS_EXHUMEDS))
 				{
-					dataHandler.getData().add(new RoomDataItem("Exhumeds", dataHandler.getTime(), 1, false));
+					dataHandler.add(new RoomDataItem("Exhumeds", dataHandler.getTime(), 1, false));
 					return;
 				}
 			}
@@ -233,13 +223,13 @@ public class XarpusHandler extends RoomHandler
 	{
 		if (instance.isInRaid() && instance.getCurrentRegion().isXarpus())
 		{
-			if (instance.getRoomStatus() == 1 && !dataHandler.Find("Starting Tick").isPresent())
+			if (instance.getRoomStatus() == 1 && !dataHandler.contains(STARTING_TICK))
 			{
-				dataHandler.getData().add(new RoomDataItem("Starting Tick", dataHandler.getTime(), true, true));
+				dataHandler.add(new RoomDataItem("Starting Tick", dataHandler.getTime(), true, true));
 				dataHandler.setShouldTrack(true);
 			}
 
-			if (dataHandler.isShouldTrack() && !dataHandler.getData().isEmpty())
+			if (dataHandler.isShouldTrack() && !dataHandler.isEmpty())
 			{
 				dataHandler.updateTotalTime();
 			}
@@ -252,9 +242,9 @@ public class XarpusHandler extends RoomHandler
 
 		if (exhumedTracker != null)
 		{
-			exhumedTracker.tick();
+			exhumedTracker.tick(client.getTickCount());
 
-			if (exhumedTracker.getExhumeds().isEmpty() && !phase.isInactiveOrP1())
+			if (exhumedTracker.isEmpty() && !phase.isInactiveOrP1())
 			{
 				exhumedTracker = null;
 			}
@@ -274,7 +264,7 @@ public class XarpusHandler extends RoomHandler
 			return;
 		}
 
-		if (exhumedTracker.track(e.getGroundObject()) && instance.getTickCycle() > -1)
+		if (exhumedTracker.track(e.getGroundObject(), client.getTickCount()) && instance.getTickCycle() > -1)
 		{
 			instance.resetTickCycle();
 		}
@@ -304,83 +294,75 @@ public class XarpusHandler extends RoomHandler
 			if (xarpusNpc == event.getActor())
 			{
 				event.getActor().setOverheadText("Sheeeeeesh!");
-				soundClip.setFramePosition(0);
-				soundClip.start();
+				playSoundClip(soundClip, config.xarpusSoundClipVolume());
 
-				dataHandler.getData().add(new RoomDataItem("Screech", dataHandler.getTime(), 2, false));
+				dataHandler.add(new RoomDataItem("Screech", dataHandler.getTime(), 2, false));
 			}
 		}
 	}
 
 	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	public void onTheatreChatMessage(TheatreChatMessage event)
 	{
-		if (instance.getCurrentRegion() != XARPUS && event.getType() != ChatMessageType.GAMEMESSAGE)
-		{
-			return;
-		}
-
-		String stripped = Text.removeTags(event.getMessage());
-
-		if (XARPUS_WAVE.matcher(stripped).find())
+		if (event.getType() == TheatreMessage.XARPUS_COMPLETE)
 		{
 			dataHandler.setShouldTrack(false);
-			dataHandler.Find("Room").get().setValue(dataHandler.getTime());
+			dataHandler.setValue(ROOM, dataHandler.getTime());
 
 			if (config.displayRoomTimes().isInfobox())
 			{
-				buildInfobox();
+				defer(this::buildInfobox);
 			}
 
 			if (config.displayRoomTimes().isChat())
 			{
-				sendChatTimes();
+				defer(this::sendChatTimes);
 			}
 		}
 	}
 
 	private void buildInfobox()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			String tooltip;
+			final int room = dataHandler.getValue(ROOM);
+			Supplier<String> tooltip;
 
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
-				tooltip = "Exhumeds - " + formatTime(dataHandler.FindValue("Exhumeds")) + "</br>" +
-					"Screech - " + formatTime(dataHandler.FindValue("Screech")) + formatTime(dataHandler.FindValue("Screech"), dataHandler.FindValue("Exhumeds")) + "</br>" +
-					"Complete - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("Screech"));
+				final int[] splits = { dataHandler.getValue(XARPUS_EXHUMEDS), dataHandler.getValue(XARPUS_SCREECH), room };
+				tooltip = () -> formatSplits(TOOLTIP_SPLITS, splits);
 			}
 			else
 			{
-				tooltip = "Complete - " + formatTime(dataHandler.FindValue("Room")) + "*";
+				tooltip = () -> "Complete - " + formatTime(room) + "*";
 			}
 
-			xarpuInfoBox = createInfoBox(plugin, config, itemManager.getImage(BOSS_IMAGE), "Xarpus", formatTime(dataHandler.FindValue("Room")), tooltip);
+			xarpuInfoBox = createInfoBox(plugin, itemManager.getImage(BOSS_IMAGE), "Xarpus", formatTime(room), tooltip);
 			infoBoxManager.addInfoBox(xarpuInfoBox);
 		}
 	}
 
 	private void sendChatTimes()
 	{
-		if (!dataHandler.getData().isEmpty())
+		if (!dataHandler.isEmpty())
 		{
-			if (!dataHandler.Find("Starting Tick").get().isException())
+			if (!dataHandler.isException(STARTING_TICK))
 			{
 				enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 						.append(Color.RED, "Exhumeds")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("Exhumeds")) + " - ")
+						.append(" - " + formatTime(dataHandler.getValue(XARPUS_EXHUMEDS)) + " - ")
 						.append(Color.RED, "Screech")
 						.append(ChatColorType.NORMAL)
-						.append(" - " + formatTime(dataHandler.FindValue("Screech")) + formatTime(dataHandler.FindValue("Screech"), dataHandler.FindValue("Exhumeds"))));
+						.append(" - " + formatTime(dataHandler.getValue(XARPUS_SCREECH)) + formatTime(dataHandler.getValue(XARPUS_SCREECH), dataHandler.getValue(XARPUS_EXHUMEDS))));
 
 				if (config.roomTimeValidation())
 				{
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Xarpus - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + formatTime(dataHandler.FindValue("Room"), dataHandler.FindValue("Screech"))));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + formatTime(dataHandler.getValue(ROOM), dataHandler.getValue(XARPUS_SCREECH))));
 				}
 			}
 			else
@@ -390,7 +372,7 @@ public class XarpusHandler extends RoomHandler
 					enqueueChatMessage(ChatMessageType.GAMEMESSAGE, b -> b
 							.append(Color.RED, "Xarpus - Room Complete")
 							.append(ChatColorType.NORMAL)
-							.append(" - " + formatTime(dataHandler.FindValue("Room")) + "*"));
+							.append(" - " + formatTime(dataHandler.getValue(ROOM)) + "*"));
 				}
 			}
 		}
@@ -63,7 +63,7 @@ public class XarpusSceneOverlay extends RoomSceneOverlay<XarpusHandler>
 
 		XarpusPhase phase = room.getPhase();
 
-		if (config.displayXarpusInstanceTimer() && phase.isInactiveOrP1())
+		if (plugin.getConfigSnapshot().displayXarpusInstanceTimer() && phase.isInactiveOrP1())
 		{
 			drawInstanceTimer(graphics, room.getXarpusNpc(), null);
 		}
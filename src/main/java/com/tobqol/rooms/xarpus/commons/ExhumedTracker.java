@@ -25,28 +25,30 @@
  */
 package com.tobqol.rooms.xarpus.commons;
 
-import lombok.Getter;
+import com.tobqol.api.util.TickTimerWheel;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.GroundObject;
-import org.apache.commons.lang3.tuple.Pair;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
 
 @Slf4j
 public class ExhumedTracker
 {
-	@Getter
-	private final Map<Long, Pair<GroundObject, Integer>> exhumeds;
+	// Ticked on GameTick, so an exhumed reads 12 when it spawns and is dropped on the 12th GameTick after
+	private static final int EXHUMED_TICKS = 12;
+
+	private final Map<Long, GroundObject> exhumeds;
+	private final TickTimerWheel<Long> timers;
 
 	public ExhumedTracker()
 	{
 		this.exhumeds = new HashMap<>();
+		this.timers = new TickTimerWheel<>(exhumeds::remove);
 	}
 
-	public boolean track(GroundObject obj)
+	public boolean track(GroundObject obj, int tick)
 	{
 		if (obj == null || obj.getId() != XarpusTable.EXHUMED_GROUND_OBJ)
 		{
@@ -60,30 +62,28 @@ public class ExhumedTracker
 			return false;
 		}
 
-		exhumeds.put(hash, Pair.of(obj, 12));
+		exhumeds.put(hash, obj);
+		timers.schedule(hash, tick, EXHUMED_TICKS);
 		return true;
 	}
 
-	public void tick()
+	public void tick(int tick)
 	{
-		exhumeds.values().removeIf(p -> p.getRight() <= 0);
-		exhumeds.replaceAll((k, v) -> Pair.of(v.getLeft(), v.getRight() - 1));
+		timers.advance(tick);
 	}
 
-	public void forEachExhumed(BiConsumer<GroundObject, Integer> action)
+	public boolean isEmpty()
 	{
-		if (action == null || exhumeds.isEmpty())
-		{
-			return;
-		}
-
-		Collection<Pair<GroundObject, Integer>> exhumeds = this.exhumeds.values();
+		return exhumeds.isEmpty();
+	}
 
-		if (exhumeds.isEmpty())
+	public void forEachExhumed(int tick, ObjIntConsumer<GroundObject> action)
+	{
+		if (action == null || exhumeds.isEmpty())
 		{
 			return;
 		}
 
-		exhumeds.forEach(p -> action.accept(p.getLeft(), p.getRight()));
+		timers.forEach(tick, (hash, ticks) -> action.accept(exhumeds.get(hash), ticks));
 	}
 }
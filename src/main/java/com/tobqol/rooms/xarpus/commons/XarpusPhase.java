@@ -25,12 +25,11 @@
  */
 package com.tobqol.rooms.xarpus.commons;
 
-import com.google.common.collect.ImmutableMap;
+import com.tobqol.api.game.NpcRegistry;
 import lombok.RequiredArgsConstructor;
 import net.runelite.api.NPC;
 
 import javax.annotation.Nullable;
-import java.util.Map;
 
 @RequiredArgsConstructor
 public enum XarpusPhase
@@ -45,37 +44,26 @@ public enum XarpusPhase
 	@Nullable
 	private final XarpusTable table;
 
-	private static final Map<Integer, XarpusPhase> LOOKUP_MAP;
+	private static final XarpusPhase[] PHASES = values();
 
-	static
+	public static XarpusPhase compose(NPC npc)
 	{
-		ImmutableMap.Builder<Integer, XarpusPhase> builder = ImmutableMap.builder();
+		XarpusTable table = NpcRegistry.role(npc.getId(), XarpusTable.class);
 
-		for (XarpusPhase phase : values())
+		if (table == null)
 		{
-			if (phase.isAbsent() || phase.isP3())
-			{
-				continue;
-			}
-
-			XarpusTable table = phase.table;
+			return UNKNOWN;
+		}
 
-			if (table == null)
+		for (XarpusPhase phase : PHASES)
+		{
+			if (phase.table == table)
 			{
-				continue;
+				return phase;
 			}
-
-			builder.put(table.sm(), phase);
-			builder.put(table.rg(), phase);
-			builder.put(table.hm(), phase);
 		}
 
-		LOOKUP_MAP = builder.build();
-	}
-
-	public static XarpusPhase compose(NPC npc)
-	{
-		return LOOKUP_MAP.getOrDefault(npc.getId(), UNKNOWN);
+		return UNKNOWN;
 	}
 
 	public boolean isInactive()
@@ -25,16 +25,11 @@
  */
 package com.tobqol.rooms.xarpus.commons;
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
-import com.tobqol.api.game.Instance;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.runelite.api.NpcID;
 
-import javax.annotation.Nullable;
-
 @RequiredArgsConstructor
 @Getter
 @Accessors(fluent = true)
@@ -45,35 +40,7 @@ public enum XarpusTable implements XarpusConstants
 	XARPUS_P23(NpcID.XARPUS_10768, NpcID.XARPUS_8340, NpcID.XARPUS_10772),
 	XARPUS_DEAD(NpcID.XARPUS_10769, NpcID.XARPUS_8341, NpcID.XARPUS_10773);
 
-
 	private final int sm;
 	private final int rg;
 	private final int hm;
-
-	private static final Table<Instance.Mode, Integer, XarpusTable> TABLE;
-
-	static
-	{
-		ImmutableTable.Builder<Instance.Mode, Integer, XarpusTable> builder = ImmutableTable.builder();
-
-		for (XarpusTable table : values())
-		{
-			builder.put(Instance.Mode.STORY, table.sm, table);
-			builder.put(Instance.Mode.REGULAR, table.rg, table);
-			builder.put(Instance.Mode.HARD, table.hm, table);
-		}
-
-		TABLE = builder.build();
-	}
-
-	@Nullable
-	public static Instance.Mode findMode(int npcId)
-	{
-		return Instance.findFirstMode(mode -> TABLE.contains(mode, npcId));
-	}
-
-	public static boolean anyMatch(XarpusTable table, int npcId)
-	{
-		return table != null && (table.sm == npcId || table.rg == npcId || table.hm == npcId);
-	}
 }
@@ -34,10 +34,15 @@ import net.runelite.api.Client;
 import net.runelite.client.ui.overlay.components.LineComponent;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Optional;
+import java.util.List;
 
+import static com.tobqol.tracking.RoomDataKeys.ROOM;
+import static com.tobqol.tracking.RoomDataKeys.STARTING_TICK;
+import static com.tobqol.tracking.RoomInfoUtil.appendTime;
 import static com.tobqol.tracking.RoomInfoUtil.formatTime;
 
 @Slf4j
@@ -51,13 +56,23 @@ public class RoomDataHandler
     @Setter
     private RoomTimeOverlay timeOverlay;
 
+    // Kept in sort order on insertion, the index holds the same items keyed by RoomDataKeys id
+    private final ArrayList<RoomDataItem> data = new ArrayList<>();
+    private final List<RoomDataItem> dataView = Collections.unmodifiableList(data);
+    private RoomDataItem[] index = new RoomDataItem[RoomDataKeys.count()];
+
+    // Bumped on every mutation so consumers can tell when the splits need to be re-read
     @Getter
-    private ArrayList<RoomDataItem> data = new ArrayList<>();
+    private int changeCount = 0;
 
     @Getter
-    @Setter
     private boolean shouldTrack = false;
 
+    // State the live panel was last built from, render() reuses the panel until one of these moves
+    private int renderedChangeCount = -1;
+    private boolean renderedSplitDifferences;
+    private final StringBuilder lineBuffer = new StringBuilder(24);
+
     public RoomDataHandler(Client client, TheatreQOLPlugin plugin, TheatreQOLConfig config)
     {
         this.client = client;
@@ -79,6 +94,16 @@ public class RoomDataHandler
 
     public PanelComponent preRenderRoomTimes()
     {
+        boolean splitDifferences = plugin.getConfigSnapshot().displayTimeSplitDifferences();
+
+        if (renderedChangeCount == changeCount && renderedSplitDifferences == splitDifferences)
+        {
+            return timeOverlay.getPanelComponent();
+        }
+
+        renderedChangeCount = changeCount;
+        renderedSplitDifferences = splitDifferences;
+
         timeOverlay.getPanelComponent().getChildren().clear();
 
         if (data.isEmpty())
@@ -89,76 +114,168 @@ public class RoomDataHandler
             return timeOverlay.getPanelComponent();
         }
 
-        Optional<RoomDataItem> o = Find("Starting Tick");
-        if (o.isPresent() && o.get().isException())
+        if (isException(STARTING_TICK))
         {
-            LineComponent lineComponent = LineComponent.builder().left("Room").right(formatTime(FindValue("Room")) + '*').build();
+            LineComponent lineComponent = LineComponent.builder().left("Room").right(formatTime(getValue(ROOM)) + '*').build();
             timeOverlay.getPanelComponent().getChildren().add(lineComponent);
 
             return timeOverlay.getPanelComponent();
         }
 
-        boolean splitDifferences = config.displayTimeSplitDifferences();
-
-        Collections.sort(data);
-
-        data.forEach((item) ->
+        for (RoomDataItem item : data)
         {
-            if (item.isHidden() || (item.isHidden() && item.getName() != "Room"))
+            if (item.isHidden())
             {
-                return;
+                continue;
             }
 
-            boolean hasComparable = (item.getCompareName().equals("") || (isShouldTrack() && item.getName().equals("Room"))) ? false : Find(item.getCompareName()).isPresent();
+            boolean hasComparable = (item.getId() == ROOM && isShouldTrack()) ? false : contains(item.getCompareId());
+
+            String time = formatTime(item.getValue());
 
-            LineComponent lineComponent = LineComponent.builder().left(item.getName()).right(formatTime(item.getValue()) +
-                    (splitDifferences && hasComparable ? formatTime(item.getValue(), FindValue(item.getCompareName())) : "")).build();
+            if (splitDifferences && hasComparable)
+            {
+                lineBuffer.setLength(0);
+                time = appendTime(item.getValue(), getValue(item.getCompareId()), lineBuffer.append(time)).toString();
+            }
+
+            LineComponent lineComponent = LineComponent.builder().left(item.getName()).right(time).build();
             timeOverlay.getPanelComponent().getChildren().add(lineComponent);
-        });
+        }
 
         return timeOverlay.getPanelComponent();
     }
 
-    public Optional<RoomDataItem> Find(String name)
+    /**
+     * Read-only view of the tracked splits in display order.
+     */
+    public List<RoomDataItem> getData()
+    {
+        return dataView;
+    }
+
+    public void setShouldTrack(boolean shouldTrack)
+    {
+        if (this.shouldTrack == shouldTrack)
+        {
+            return;
+        }
+
+        this.shouldTrack = shouldTrack;
+        changeCount++;
+    }
+
+    public boolean isEmpty()
+    {
+        return data.isEmpty();
+    }
+
+    public boolean contains(int id)
+    {
+        return get(id) != null;
+    }
+
+    @Nullable
+    public RoomDataItem get(int id)
     {
-        return data.stream().filter(f -> f.getName().equals(name)).findFirst();
+        return id < 0 || id >= index.length ? null : index[id];
     }
 
-    public int FindValue(String name)
+    public int getValue(int id)
     {
-        if (!Find(name).isPresent())
+        RoomDataItem item = get(id);
+        return item == null ? 0 : item.getValue();
+    }
+
+    public boolean isException(int id)
+    {
+        RoomDataItem item = get(id);
+        return item != null && item.isException();
+    }
+
+    /**
+     * Adds the item unless a split with the same name is already tracked, the first recorded value wins.
+     */
+    public boolean add(RoomDataItem item)
+    {
+        int id = item.getId();
+
+        if (id < 0 || contains(id))
+        {
+            return false;
+        }
+
+        if (id >= index.length)
+        {
+            index = Arrays.copyOf(index, Math.max(id + 1, RoomDataKeys.count()));
+        }
+
+        index[id] = item;
+
+        int position = data.size();
+
+        while (position > 0 && data.get(position - 1).getSort() > item.getSort())
         {
-            return 0;
+            position--;
         }
 
-        return data.stream().filter(f -> f.getName().equals(name)).findFirst().get().getValue();
+        data.add(position, item);
+        changeCount++;
+        return true;
+    }
+
+    public void setValue(int id, int value)
+    {
+        RoomDataItem item = get(id);
+
+        if (item == null || item.getValue() == value)
+        {
+            return;
+        }
+
+        item.setValue(value);
+        changeCount++;
+    }
+
+    public void clear()
+    {
+        if (data.isEmpty())
+        {
+            return;
+        }
+
+        data.clear();
+        Arrays.fill(index, null);
+        changeCount++;
     }
 
     public int getTime()
     {
-        return client.getTickCount() - FindValue("Starting Tick");
+        return client.getTickCount() - getValue(STARTING_TICK);
     }
 
     public void updateTotalTime()
     {
-        if (!Find("Room").isPresent())
+        if (!contains(ROOM))
         {
-            getData().add(new RoomDataItem("Room", getTime(), 99, false));
+            add(new RoomDataItem("Room", getTime(), 99, false));
         }
         else
         {
-            Find("Room").get().setValue(getTime());
+            setValue(ROOM, getTime());
         }
     }
 
     public void updateHiddenItems(boolean set)
     {
-        data.forEach(item ->
+        for (RoomDataItem item : data)
         {
-            if (item.getName() != "Starting Tick" && item.getName() != "Room")
+            if (item.getId() != STARTING_TICK && item.getId() != ROOM)
             {
                 item.setHidden(set);
             }
-        });
+        }
+
+        changeCount++;
     }
 }
@@ -31,8 +31,10 @@ import lombok.Setter;
 public class RoomDataItem implements Comparable
 {
     @Getter
-    @Setter
-    private String name;
+    private final String name;
+
+    @Getter
+    private final int id;
 
     @Getter
     @Setter
@@ -47,8 +49,10 @@ public class RoomDataItem implements Comparable
     private boolean hidden;
 
     @Getter
-    @Setter
-    private String compareName;
+    private final String compareName;
+
+    @Getter
+    private final int compareId;
 
     @Getter
     @Setter
@@ -57,60 +61,72 @@ public class RoomDataItem implements Comparable
     public RoomDataItem(String name, int value)
     {
         this.name = name;
+        this.id = RoomDataKeys.intern(name);
         this.value = value;
         this.sort = -1;
         this.hidden = false;
         this.compareName = null;
+        this.compareId = RoomDataKeys.NONE;
         this.exception = false;
     }
 
     public RoomDataItem(String name, int value, boolean hidden)
     {
         this.name = name;
+        this.id = RoomDataKeys.intern(name);
         this.value = value;
         this.sort = -1;
         this.hidden = hidden;
         this.compareName = "";
+        this.compareId = RoomDataKeys.NONE;
         this.exception = false;
     }
 
     public RoomDataItem(String name, int value, int sort, boolean hidden)
     {
         this.name = name;
+        this.id = RoomDataKeys.intern(name);
         this.value = value;
         this.sort = sort;
         this.hidden = hidden;
         this.compareName = "";
+        this.compareId = RoomDataKeys.NONE;
         this.exception = false;
     }
 
     public RoomDataItem(String name, int value, int sort, boolean hidden, String compareName)
     {
         this.name = name;
+        this.id = RoomDataKeys.intern(name);
         this.value = value;
         this.sort = sort;
         this.hidden = hidden;
         this.compareName = compareName;
+        this.compareId = RoomDataKeys.intern(compareName);
         this.exception = false;
     }
 
     public RoomDataItem(String name, int value, boolean hidden, boolean exception)
     {
         this.name = name;
+        this.id = RoomDataKeys.intern(name);
         this.value = value;
         this.sort = -1;
         this.hidden = hidden;
         this.compareName = "";
+        this.compareId = RoomDataKeys.NONE;
         this.exception = exception;
     }
 
     public RoomDataItem(String name, int value, int sort, boolean hidden, String compareName, boolean exception)
     {
         this.name = name;
+        this.id = RoomDataKeys.intern(name);
         this.value = value;
         this.sort = sort;
         this.hidden = hidden;
         this.compareName = compareName;
+        this.compareId = RoomDataKeys.intern(compareName);
         this.exception = exception;
     }
 
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.tracking;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns split names into small, dense integer ids so that {@link RoomDataHandler} can
+ * index its {@link RoomDataItem}s by array slot instead of scanning by name.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RoomDataKeys
+{
+    private static final Map<String, Integer> IDS = new HashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+
+    private static int[] downs = new int[0];
+    private static int[] demis = new int[0];
+
+    public static final int NONE = -1;
+
+    public static final int STARTING_TICK = intern("Starting Tick");
+    public static final int ROOM = intern("Room");
+
+    public static final int MAIDEN_70S = intern("70s");
+    public static final int MAIDEN_50S = intern("50s");
+    public static final int MAIDEN_30S = intern("30s");
+
+    public static final int NYLOCAS_WAVES = intern("Waves");
+    public static final int NYLOCAS_CLEANUP = intern("Cleanup");
+    public static final int NYLOCAS_BOSS = intern("Boss");
+
+    public static final int SOTETSEG_66 = intern("66%");
+    public static final int SOTETSEG_33 = intern("33%");
+
+    public static final int XARPUS_EXHUMEDS = intern("Exhumeds");
+    public static final int XARPUS_SCREECH = intern("Screech");
+
+    public static final int VERZIK_PHASE_1 = intern("P1");
+    public static final int VERZIK_REDS = intern("Reds");
+    public static final int VERZIK_PHASE_2 = intern("P2");
+
+    public static int intern(String name)
+    {
+        if (name == null || name.isEmpty())
+        {
+            return NONE;
+        }
+
+        Integer id = IDS.get(name);
+
+        if (id != null)
+        {
+            return id;
+        }
+
+        int next = NAMES.size();
+        IDS.put(name, next);
+        NAMES.add(name);
+        return next;
+    }
+
+    public static String name(int id)
+    {
+        return id < 0 || id >= NAMES.size() ? "" : NAMES.get(id);
+    }
+
+    public static int count()
+    {
+        return NAMES.size();
+    }
+
+    /**
+     * Bloat downs are numbered from 1, ids are cached so repeated lookups don't rebuild the name.
+     */
+    public static int down(int n)
+    {
+        if (n >= downs.length)
+        {
+            downs = sequence("Down ", downs, n);
+        }
+
+        return n <= 0 ? NONE : downs[n];
+    }
+
+    /**
+     * Nylocas demi-bosses are numbered from 1, ids are cached so repeated lookups don't rebuild the name.
+     */
+    public static int demi(int n)
+    {
+        if (n >= demis.length)
+        {
+            demis = sequence("Demi ", demis, n);
+        }
+
+        return n <= 0 ? NONE : demis[n];
+    }
+
+    private static int[] sequence(String prefix, int[] cache, int n)
+    {
+        int[] grown = Arrays.copyOf(cache, Math.max(n + 1, cache.length * 2));
+
+        for (int i = Math.max(cache.length, 1); i < grown.length; i++)
+        {
+            grown[i] = intern(prefix + i);
+        }
+
+        return grown;
+    }
+}
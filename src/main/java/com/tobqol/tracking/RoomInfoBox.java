@@ -25,7 +25,6 @@
  */
 package com.tobqol.tracking;
 
-import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
 import net.runelite.client.ui.overlay.infobox.InfoBox;
 import net.runelite.client.ui.overlay.infobox.InfoBoxPriority;
@@ -33,29 +32,32 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.function.Supplier;
 
 public class RoomInfoBox extends InfoBox
 {
-    private final TheatreQOLConfig config;
+    private final TheatreQOLPlugin plugin;
     private final String room;
-    private final String time;
-    private final String tooltip;
+    private final String text;
+
+    // Built the first time the infobox is hovered, most are never hovered at all
+    private Supplier<String> tooltipSupplier;
+    private String tooltip;
 
     public RoomInfoBox(
             BufferedImage image,
             TheatreQOLPlugin plugin,
-            TheatreQOLConfig config,
             String room,
             String time,
-            String tooltip
+            Supplier<String> tooltip
     )
     {
         super(image, plugin);
 
-        this.config = config;
+        this.plugin = plugin;
         this.room = room;
-        this.time = time;
-        this.tooltip = tooltip;
+        this.text = StringUtils.substringBefore(time, ".");
+        this.tooltipSupplier = tooltip;
 
         setPriority(InfoBoxPriority.LOW);
     }
@@ -69,7 +71,7 @@ public class RoomInfoBox extends InfoBox
     @Override
     public String getText()
     {
-        return getTime(true);
+        return text;
     }
 
     @Override
@@ -81,17 +83,18 @@ public class RoomInfoBox extends InfoBox
     @Override
     public String getTooltip()
     {
+        if (tooltipSupplier != null)
+        {
+            tooltip = tooltipSupplier.get();
+            tooltipSupplier = null;
+        }
+
         return tooltip;
     }
 
     @Override
     public boolean render()
     {
-        return config.displayRoomTimes().isInfobox();
-    }
-
-    private String getTime(boolean simple)
-    {
-        return simple ? StringUtils.substringBefore(time, ".") : time;
+        return plugin.getConfigSnapshot().displayRoomTimes().isInfobox();
     }
 }
@@ -25,37 +25,119 @@
  */
 package com.tobqol.tracking;
 
-import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.awt.image.BufferedImage;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class RoomInfoUtil
 {
     static final int TICK_LENGTH = 600;
 
+    // One hour of ticks, anything past that is formatted on demand rather than cached
+    private static final int CACHED_TICKS = 6000;
+
+    private static final String[] TIMES = new String[CACHED_TICKS];
+    private static final String[] DIFFS = new String[CACHED_TICKS];
+
     public static String formatTime(int current, int previous)
     {
-        return " (" + formatTime(current - previous) + ")";
+        int ticks = current - previous;
+
+        if (ticks < 0 || ticks >= CACHED_TICKS)
+        {
+            return appendTime(current, previous, new StringBuilder(12)).toString();
+        }
+
+        String diff = DIFFS[ticks];
+
+        if (diff == null)
+        {
+            diff = DIFFS[ticks] = appendTime(current, previous, new StringBuilder(12)).toString();
+        }
+
+        return diff;
     }
 
     public static String formatTime(int ticks)
     {
+        if (ticks < 0 || ticks >= CACHED_TICKS)
+        {
+            return appendTime(ticks, new StringBuilder(8)).toString();
+        }
+
+        String time = TIMES[ticks];
+
+        if (time == null)
+        {
+            time = TIMES[ticks] = appendTime(ticks, new StringBuilder(8)).toString();
+        }
+
+        return time;
+    }
+
+    /**
+     * Appends the split difference as " (m:ss.t)" without going through an intermediate String.
+     */
+    public static StringBuilder appendTime(int current, int previous, StringBuilder sb)
+    {
+        return appendTime(current - previous, sb.append(" (")).append(')');
+    }
+
+    /**
+     * Appends the tick count as m:ss.t, hours roll over the same way the String.format version did.
+     */
+    public static StringBuilder appendTime(int ticks, StringBuilder sb)
+    {
+        if (ticks < 0)
+        {
+            sb.append('-');
+            ticks = -ticks;
+        }
+
         int millis = ticks * TICK_LENGTH;
-        String hundredths = String.valueOf(millis % 1000).substring(0, 1);
+        int seconds = (millis / 1000) % 60;
+
+        sb.append((millis / 60000) % 60).append(':');
+
+        if (seconds < 10)
+        {
+            sb.append('0');
+        }
+
+        return sb.append(seconds).append('.').append((millis % 1000) / 100);
+    }
+
+    /**
+     * Joins each split as "name - time (diff)" with </br>, the first split has nothing to diff against.
+     */
+    public static String formatSplits(String[] names, int[] splits)
+    {
+        StringBuilder sb = new StringBuilder(names.length * 32);
+
+        for (int i = 0; i < names.length; i++)
+        {
+            if (i > 0)
+            {
+                sb.append("</br>");
+            }
+
+            appendTime(splits[i], sb.append(names[i]).append(" - "));
+
+            if (i > 0)
+            {
+                appendTime(splits[i], splits[i - 1], sb);
+            }
+        }
 
-        return String.format("%d:%02d.%s",
-                TimeUnit.MILLISECONDS.toMinutes(millis) % TimeUnit.HOURS.toMinutes(1),
-                TimeUnit.MILLISECONDS.toSeconds(millis) % TimeUnit.MINUTES.toSeconds(1),
-                hundredths);
+        return sb.toString();
     }
 
-    public static RoomInfoBox createInfoBox(TheatreQOLPlugin plugin, TheatreQOLConfig config, BufferedImage image, String bossName, String time, String tooltip)
+    public static RoomInfoBox createInfoBox(TheatreQOLPlugin plugin, BufferedImage image, String bossName, String time, Supplier<String> tooltip)
     {
-        return new RoomInfoBox(image, plugin, config, bossName, time, tooltip);
+        return new RoomInfoBox(image, plugin, bossName, time, tooltip);
     }
 }
@@ -27,6 +27,7 @@ package com.tobqol.tracking;
 
 import com.tobqol.TheatreQOLConfig;
 import com.tobqol.TheatreQOLPlugin;
+import com.tobqol.config.font.FontRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.ui.overlay.Overlay;
@@ -57,14 +58,14 @@ public class RoomTimeOverlay extends Overlay
     @Override
     public Dimension render(Graphics2D graphics)
     {
-        if (!config.displayRoomTimes().isLiveOverlay() || !plugin.getInstanceService().isInRaid())
+        if (!plugin.getConfigSnapshot().displayRoomTimes().isLiveOverlay() || !plugin.getInstanceService().isInRaid())
         {
             return null;
         }
 
-        if (config.shrunkLiveTimerDesign())
+        if (plugin.getConfigSnapshot().shrunkLiveTimerDesign())
         {
-            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 11));
+            graphics.setFont(FontRegistry.SHRUNK_TIMER_FONT);
         }
 
         this.panelComponent = plugin.getDataHandler().preRenderRoomTimes();
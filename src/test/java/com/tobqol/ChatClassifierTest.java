@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol;
+
+import com.tobqol.api.game.TheatreMessage;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ChatClassifierTest
+{
+	@Test
+	public void everyMessageMatchesItsOwnText()
+	{
+		for (TheatreMessage message : TheatreMessage.values())
+		{
+			if (!message.isRoomComplete())
+			{
+				assertEquals(message, ChatClassifier.classify(message.text()));
+			}
+		}
+	}
+
+	@Test
+	public void everyRoomCompletesFromItsWaveMessage()
+	{
+		for (TheatreMessage message : TheatreMessage.values())
+		{
+			if (message.isRoomComplete())
+			{
+				assertEquals(message, ChatClassifier.classify(wave(message.text(), "Normal Mode")));
+				assertEquals(message, ChatClassifier.classify(wave(message.text(), "Hard Mode")));
+				assertEquals(message, ChatClassifier.classify(wave(message.text(), "Entry Mode")));
+			}
+		}
+	}
+
+	@Test
+	public void waveMessageMayCarryTheDuration()
+	{
+		String message = wave("The Maiden of Sugadinti", "Normal Mode") + "Duration: 1:23.4 Personal best: 1:10.2";
+
+		assertEquals(TheatreMessage.MAIDEN_COMPLETE, ChatClassifier.classify(message));
+	}
+
+	@Test
+	public void unknownOrMalformedWavesAreIgnored()
+	{
+		assertNull(ChatClassifier.classify(wave("The Pestilent Bloat Jr", "Normal Mode")));
+		assertNull(ChatClassifier.classify("Wave 'Xarpus' complete!"));
+		assertNull(ChatClassifier.classify("Wave 'Xarpus (Normal Mode) complete!"));
+		assertNull(ChatClassifier.classify("Wave 'Xarpus' (Normal Mode)"));
+		assertNull(ChatClassifier.classify("Wave '"));
+	}
+
+	@Test
+	public void roomNameAloneIsNotAMessage()
+	{
+		// The room names are wave keys, not whole messages
+		assertNull(ChatClassifier.classify(TheatreMessage.XARPUS_COMPLETE.text()));
+	}
+
+	@Test
+	public void messagesMatchExactlyRatherThanByContains()
+	{
+		String text = TheatreMessage.SOTETSEG_DEATH_BALL.text();
+
+		assertNull(ChatClassifier.classify("Someone says: " + text));
+		assertNull(ChatClassifier.classify(text + " "));
+		assertNull(ChatClassifier.classify(text.substring(0, text.length() - 1)));
+		assertNull(ChatClassifier.classify(text.toUpperCase()));
+		assertNull(ChatClassifier.classify(""));
+	}
+
+	private static String wave(String name, String mode)
+	{
+		return "Wave '" + name + "' (" + mode + ") complete!";
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.tobqol.rooms.bloat.BloatHandler;
+import com.tobqol.rooms.maiden.MaidenHandler;
+import com.tobqol.rooms.nylocas.NylocasHandler;
+import com.tobqol.rooms.sotetseg.SotetsegHandler;
+import com.tobqol.rooms.verzik.VerzikHandler;
+import com.tobqol.rooms.xarpus.XarpusHandler;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.callback.Hooks;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Starts and stops the plugin outside the Theatre, where no room handler should be built.
+ */
+public class TheatreQOLPluginStartupTest
+{
+	private static final int TOGGLES = 5;
+
+	private TheatreQOLPlugin plugin;
+
+	@Before
+	public void before()
+	{
+		Client client = mock(Client.class);
+		when(client.getGameState()).thenReturn(GameState.LOGIN_SCREEN);
+
+		TheatreQOLConfig config = mock(TheatreQOLConfig.class, Answers.CALLS_REAL_METHODS);
+		ConfigManager configManager = mock(ConfigManager.class);
+		when(configManager.getConfig(TheatreQOLConfig.class)).thenReturn(config);
+
+		plugin = new TheatreQOLPlugin();
+
+		Injector injector = Guice.createInjector(plugin, binder ->
+		{
+			binder.bind(Client.class).toInstance(client);
+			binder.bind(ConfigManager.class).toInstance(configManager);
+			binder.bind(EventBus.class).toInstance(new EventBus());
+			binder.bind(ClientThread.class).toInstance(mock(ClientThread.class));
+			binder.bind(Hooks.class).toInstance(mock(Hooks.class));
+			binder.bind(OverlayManager.class).toInstance(mock(OverlayManager.class));
+			binder.bind(InfoBoxManager.class).toInstance(mock(InfoBoxManager.class));
+
+			// Rooms are only built on the way into the Theatre, building one here fails the test
+			binder.bind(MaidenHandler.class).toProvider(new NotBuilt<>());
+			binder.bind(BloatHandler.class).toProvider(new NotBuilt<>());
+			binder.bind(NylocasHandler.class).toProvider(new NotBuilt<>());
+			binder.bind(SotetsegHandler.class).toProvider(new NotBuilt<>());
+			binder.bind(XarpusHandler.class).toProvider(new NotBuilt<>());
+			binder.bind(VerzikHandler.class).toProvider(new NotBuilt<>());
+		});
+
+		injector.injectMembers(plugin);
+	}
+
+	@Test
+	public void startUpAndShutDownOutsideTheatre()
+	{
+		// Repeated toggles as the plugin panel would, each one must leave the rooms unbuilt
+		for (int i = 0; i < TOGGLES; i++)
+		{
+			plugin.startUp();
+			plugin.shutDown();
+		}
+	}
+
+	private static final class NotBuilt<T> implements Provider<T>
+	{
+		@Override
+		public T get()
+		{
+			throw new AssertionError("A room handler was built outside the Theatre");
+		}
+	}
+}
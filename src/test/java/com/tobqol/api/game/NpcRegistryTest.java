@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import com.tobqol.rooms.maiden.commons.MaidenTable;
+import com.tobqol.rooms.nylocas.commons.NylocasConstants;
+import com.tobqol.rooms.verzik.commons.VerzikMap;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static com.google.common.collect.Tables.immutableCell;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Checks the registry against the per-table Guava lookups it replaced, which are rebuilt here the way the tables used to.
+ */
+public class NpcRegistryTest
+{
+	@Test
+	public void maidenMatchesBaseline()
+	{
+		ImmutableTable.Builder<Instance.Mode, Integer, MaidenTable> builder = ImmutableTable.builder();
+
+		for (MaidenTable def : MaidenTable.values())
+		{
+			builder.put(immutableCell(Instance.Mode.STORY, def.sm(), def));
+			builder.put(immutableCell(Instance.Mode.REGULAR, def.rg(), def));
+			builder.put(immutableCell(Instance.Mode.HARD, def.hm(), def));
+		}
+
+		assertMatches(builder.build(), MaidenTable.class, Region.MAIDEN);
+	}
+
+	@Test
+	public void nylocasMatchesBaseline()
+	{
+		Table<Instance.Mode, Integer, NylocasConstants> table = nylocasBaseline();
+		assertMatches(table, NylocasConstants.class, Region.NYLOCAS);
+
+		Set<Integer> bosses = idsOf(table, NylocasConstants.BOSS_DROPPING_MELEE, NylocasConstants.BOSS_MELEE, NylocasConstants.BOSS_MAGIC, NylocasConstants.BOSS_RANGE);
+		Set<Integer> demis = idsOf(table, NylocasConstants.DEMI_BOSS_DROPPING_MELEE, NylocasConstants.DEMI_BOSS_MELEE, NylocasConstants.DEMI_BOSS_MAGIC, NylocasConstants.DEMI_BOSS_RANGE);
+		Set<Integer> bigs = idsOf(table, NylocasConstants.MELEE_BIG, NylocasConstants.RANGE_BIG, NylocasConstants.MAGIC_BIG);
+		Set<Integer> smalls = idsOf(table, NylocasConstants.MELEE_SMALL, NylocasConstants.RANGE_SMALL, NylocasConstants.MAGIC_SMALL);
+
+		for (int npcId : table.columnKeySet())
+		{
+			assertEquals("isBoss " + npcId, bosses.contains(npcId), NylocasConstants.isBoss(npcId));
+			assertEquals("isDemiBoss " + npcId, demis.contains(npcId), NylocasConstants.isDemiBoss(npcId));
+			assertEquals("isBigNylo " + npcId, bigs.contains(npcId), NylocasConstants.isBigNylo(npcId));
+			assertEquals("isSmallNylo " + npcId, smalls.contains(npcId), NylocasConstants.isSmallNylo(npcId));
+		}
+	}
+
+	@Test
+	public void verzikMatchesBaseline()
+	{
+		assertMatches(verzikBaseline(), VerzikMap.class, Region.VERZIK);
+	}
+
+	@Test
+	public void unknownIdsResolveToNothing()
+	{
+		for (int npcId : new int[] { -1, 0, 1, Integer.MIN_VALUE, Integer.MAX_VALUE })
+		{
+			assertEquals(null, NpcRegistry.role(npcId));
+			assertEquals(null, NpcRegistry.mode(npcId));
+			assertEquals(Region.UNKNOWN, NpcRegistry.room(npcId));
+			assertFalse(NpcRegistry.is(npcId, VerzikMap.VERZIK_P3));
+		}
+	}
+
+	private static <E extends Enum<E>> void assertMatches(Table<Instance.Mode, Integer, E> baseline, Class<E> type, Region room)
+	{
+		for (int npcId : baseline.columnKeySet())
+		{
+			if (npcId == -1)
+			{
+				continue;
+			}
+
+			// The old lookups took the first mode holding the id, in story -> regular -> hard order
+			Instance.Mode mode = Instance.findFirstMode(m -> baseline.contains(m, npcId));
+
+			assertEquals("role of " + npcId, baseline.get(mode, npcId), NpcRegistry.role(npcId, type));
+			assertEquals("mode of " + npcId, mode, NpcRegistry.mode(npcId));
+			assertEquals("room of " + npcId, room, NpcRegistry.room(npcId));
+		}
+	}
+
+	private static Table<Instance.Mode, Integer, NylocasConstants> nylocasBaseline()
+	{
+		ImmutableTable.Builder<Instance.Mode, Integer, NylocasConstants> builder = ImmutableTable.builder();
+
+		for (NylocasConstants def : NylocasConstants.values())
+		{
+			if (def.sm() == -1 && def.rg() == -1)
+			{
+				builder.put(immutableCell(Instance.Mode.HARD, def.hm(), def));
+				continue;
+			}
+
+			builder.put(immutableCell(Instance.Mode.STORY, def.sm(), def));
+			builder.put(immutableCell(Instance.Mode.REGULAR, def.rg(), def));
+			builder.put(immutableCell(Instance.Mode.HARD, def.hm(), def));
+
+			if (def.aggro_sm() == -1 && def.aggro_rg() == -1 && def.aggro_hm() == -1)
+			{
+				continue;
+			}
+
+			builder.put(immutableCell(Instance.Mode.STORY, def.aggro_sm(), def));
+			builder.put(immutableCell(Instance.Mode.REGULAR, def.aggro_rg(), def));
+			builder.put(immutableCell(Instance.Mode.HARD, def.aggro_hm(), def));
+		}
+
+		return builder.build();
+	}
+
+	private static Table<Instance.Mode, Integer, VerzikMap> verzikBaseline()
+	{
+		ImmutableTable.Builder<Instance.Mode, Integer, VerzikMap> builder = ImmutableTable.builder();
+
+		for (VerzikMap def : VerzikMap.values())
+		{
+			builder.put(immutableCell(Instance.Mode.STORY, def.sm(), def));
+			builder.put(immutableCell(Instance.Mode.REGULAR, def.rg(), def));
+			builder.put(immutableCell(Instance.Mode.HARD, def.hm(), def));
+		}
+
+		return builder.build();
+	}
+
+	@SafeVarargs
+	private static <E extends Enum<E>> Set<Integer> idsOf(Table<Instance.Mode, Integer, E> table, E... defs)
+	{
+		Set<E> wanted = ImmutableSet.copyOf(defs);
+		ImmutableSet.Builder<Integer> ids = ImmutableSet.builder();
+		table.cellSet().forEach(cell ->
+		{
+			if (wanted.contains(cell.getValue()))
+			{
+				ids.add(cell.getColumnKey());
+			}
+		});
+		return ids.build();
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import net.runelite.api.NPC;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NpcSlotMapTest
+{
+	private final List<String> released = new ArrayList<>();
+	private NpcSlotMap<String> map;
+
+	@Before
+	public void before()
+	{
+		released.clear();
+		map = new NpcSlotMap<>(released::add);
+	}
+
+	@Test
+	public void putAndGet()
+	{
+		NPC a = npc(1);
+		NPC b = npc(40000);
+
+		assertNull(map.put(a, "a"));
+		assertEquals("a", map.get(a));
+		assertTrue(map.containsKey(a));
+		assertEquals(1, map.size());
+
+		// Out of the client's index range, never stored
+		assertNull(map.put(b, "b"));
+		assertFalse(map.containsKey(b));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void putReplacesValueForSameNpc()
+	{
+		NPC a = npc(5);
+
+		map.put(a, "first");
+		assertEquals("first", map.put(a, "second"));
+		assertEquals("second", map.get(a));
+		assertEquals(1, map.size());
+		assertTrue(released.isEmpty());
+	}
+
+	@Test
+	public void reusedIndexReplacesStaleSlot()
+	{
+		NPC old = npc(7);
+		NPC reused = npc(7);
+
+		map.put(old, "old");
+		assertNull(map.put(reused, "new"));
+
+		assertFalse(map.containsKey(old));
+		assertNull(map.get(old));
+		assertEquals("new", map.get(reused));
+		assertEquals(1, map.size());
+		assertEquals(list("old"), released);
+	}
+
+	@Test
+	public void putIfAbsentKeepsCurrentValue()
+	{
+		NPC a = npc(3);
+
+		assertNull(map.putIfAbsent(a, "a"));
+		assertEquals("a", map.putIfAbsent(a, "b"));
+		assertEquals("a", map.get(a));
+	}
+
+	@Test
+	public void removeReleasesValue()
+	{
+		NPC a = npc(2);
+		NPC b = npc(9);
+
+		map.put(a, "a");
+		map.put(b, "b");
+
+		assertTrue(map.remove(a));
+		assertFalse(map.remove(a));
+		assertFalse(map.remove(npc(9)));
+		assertEquals(list("a"), released);
+		assertEquals(1, map.size());
+		assertEquals(list("b"), map.values());
+	}
+
+	@Test
+	public void removeIfVisitsEverySlotOnce()
+	{
+		List<NPC> npcs = new ArrayList<>();
+
+		for (int i = 0; i < 10; i++)
+		{
+			NPC npc = npc(i * 3);
+			npcs.add(npc);
+			map.put(npc, "v" + i);
+		}
+
+		List<String> tested = new ArrayList<>();
+		int removed = map.removeIf((npc, v) ->
+		{
+			tested.add(v);
+			return npc.getIndex() % 2 == 0;
+		});
+
+		assertEquals(5, removed);
+		assertEquals(10, tested.size());
+		assertEquals(10, new HashSet<>(tested).size());
+		assertEquals(5, map.size());
+		assertEquals(5, released.size());
+
+		for (NPC npc : npcs)
+		{
+			assertEquals(npc.getIndex() % 2 != 0, map.containsKey(npc));
+		}
+	}
+
+	@Test
+	public void valuesAndForEachFollowLiveSlots()
+	{
+		NPC a = npc(100);
+		NPC b = npc(4);
+		NPC c = npc(2000);
+
+		map.put(a, "a");
+		map.put(b, "b");
+		map.put(c, "c");
+		map.remove(a);
+
+		assertEquals(new HashSet<>(list("b", "c")), new HashSet<>(map.values()));
+
+		List<NPC> visited = new ArrayList<>();
+		map.forEach((npc, v) ->
+		{
+			visited.add(npc);
+			map.put(npc, v + "!");
+		});
+
+		assertEquals(2, visited.size());
+		assertEquals("b!", map.get(b));
+		assertEquals("c!", map.get(c));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void valuesViewIsBoundedBySize()
+	{
+		map.put(npc(1), "a");
+		map.values().get(1);
+	}
+
+	@Test
+	public void clearReleasesEverything()
+	{
+		NPC a = npc(1);
+		NPC b = npc(NpcSlotMap.MAX_NPC_INDEX);
+
+		map.put(a, "a");
+		map.put(b, "b");
+		map.clear();
+
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(a));
+		assertFalse(map.containsKey(b));
+		assertEquals(new HashSet<>(list("a", "b")), new HashSet<>(released));
+
+		map.put(b, "again");
+		assertSame("again", map.get(b));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void nullNpcIsNeverPresent()
+	{
+		assertNull(map.get(null));
+		assertFalse(map.containsKey(null));
+	}
+
+	private static NPC npc(int index)
+	{
+		return (NPC) Proxy.newProxyInstance(NPC.class.getClassLoader(), new Class<?>[]{NPC.class}, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getIndex":
+					return index;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "NPC[" + index + "]";
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	@SafeVarargs
+	private static <T> List<T> list(T... values)
+	{
+		return Arrays.asList(values);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.game;
+
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TileTriggerTest
+{
+	@Test
+	public void packIsUniqueWithinTheRegion()
+	{
+		boolean[] seen = new boolean[64 * 64];
+
+		for (int x = 0; x < 64; x++)
+		{
+			for (int y = 0; y < 64; y++)
+			{
+				int key = TileTrigger.pack(x, y);
+				assertTrue(key >= 0 && key < seen.length);
+				assertFalse(seen[key]);
+				seen[key] = true;
+			}
+		}
+	}
+
+	@Test
+	public void packWrapsToTheRegion()
+	{
+		assertEquals(TileTrigger.pack(5, 9), TileTrigger.pack(64 + 5, 128 + 9));
+	}
+
+	@Test
+	public void packWorldPoint()
+	{
+		// (3136, 4352) is the south west corner of region 12612
+		WorldPoint wp = new WorldPoint(3136 + 12, 4352 + 40, 0);
+
+		assertEquals(TileTrigger.pack(12, 40), TileTrigger.pack(wp));
+		assertEquals(TileTrigger.NONE, TileTrigger.pack((WorldPoint) null));
+	}
+
+	@Test
+	public void ofContainsOnlyListedTiles()
+	{
+		TileTrigger trigger = TileTrigger.of(0, 0, 63, 63, 17, 31);
+
+		assertTrue(trigger.contains(TileTrigger.pack(0, 0)));
+		assertTrue(trigger.contains(TileTrigger.pack(63, 63)));
+		assertTrue(trigger.contains(TileTrigger.pack(17, 31)));
+		assertEquals(3, count(trigger));
+	}
+
+	@Test
+	public void ofIgnoresTrailingCoordinate()
+	{
+		TileTrigger trigger = TileTrigger.of(4, 4, 9);
+
+		assertTrue(trigger.contains(TileTrigger.pack(4, 4)));
+		assertEquals(1, count(trigger));
+	}
+
+	@Test
+	public void rectIsInclusiveInAnyCornerOrder()
+	{
+		TileTrigger trigger = TileTrigger.rect(20, 12, 18, 10);
+
+		for (int x = 18; x <= 20; x++)
+		{
+			for (int y = 10; y <= 12; y++)
+			{
+				assertTrue(trigger.contains(TileTrigger.pack(x, y)));
+			}
+		}
+
+		assertEquals(9, count(trigger));
+	}
+
+	@Test
+	public void areaCoversEveryTile()
+	{
+		TileTrigger trigger = TileTrigger.area(new WorldArea(3136 + 30, 4352 + 20, 2, 3, 0));
+
+		assertTrue(trigger.contains(new WorldPoint(3136 + 30, 4352 + 20, 0)));
+		assertTrue(trigger.contains(new WorldPoint(3136 + 31, 4352 + 22, 0)));
+		assertFalse(trigger.contains(new WorldPoint(3136 + 32, 4352 + 22, 0)));
+		assertEquals(6, count(trigger));
+		assertNull(TileTrigger.area(null));
+	}
+
+	@Test
+	public void noneIsNeverContained()
+	{
+		TileTrigger trigger = TileTrigger.rect(0, 0, 63, 63);
+
+		assertFalse(trigger.contains(TileTrigger.NONE));
+		assertFalse(trigger.contains((WorldPoint) null));
+	}
+
+	private static int count(TileTrigger trigger)
+	{
+		int count = 0;
+
+		for (int key = 0; key < 64 * 64; key++)
+		{
+			if (trigger.contains(key))
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+}
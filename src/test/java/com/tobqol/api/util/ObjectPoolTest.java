@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ObjectPoolTest
+{
+	private final AtomicInteger created = new AtomicInteger();
+	private ObjectPool<Object> pool;
+
+	@Before
+	public void before()
+	{
+		created.set(0);
+		pool = new ObjectPool<>(() ->
+		{
+			created.incrementAndGet();
+			return new Object();
+		}, 2);
+	}
+
+	@Test
+	public void emptyPoolCreates()
+	{
+		Object a = pool.obtain();
+		Object b = pool.obtain();
+
+		assertNotSame(a, b);
+		assertEquals(2, created.get());
+		assertEquals(0, pool.available());
+	}
+
+	@Test
+	public void releasedObjectsAreReused()
+	{
+		Object a = pool.obtain();
+		Object b = pool.obtain();
+
+		pool.release(a);
+		pool.release(b);
+		assertEquals(2, pool.available());
+
+		// Most recently released first, it is the one most likely still in cache
+		assertSame(b, pool.obtain());
+		assertSame(a, pool.obtain());
+		assertEquals(2, created.get());
+		assertEquals(0, pool.available());
+	}
+
+	@Test
+	public void releasePastCapacityIsDropped()
+	{
+		pool.release(new Object());
+		pool.release(new Object());
+		pool.release(new Object());
+
+		assertEquals(2, pool.available());
+	}
+
+	@Test
+	public void nullIsNotPooled()
+	{
+		pool.release(null);
+
+		assertEquals(0, pool.available());
+		assertNotNull(pool.obtain());
+		assertEquals(1, created.get());
+	}
+
+	@Test
+	public void zeroCapacityNeverKeeps()
+	{
+		ObjectPool<Object> none = new ObjectPool<>(Object::new, 0);
+		Object a = none.obtain();
+
+		none.release(a);
+
+		assertEquals(0, none.available());
+		assertNotSame(a, none.obtain());
+	}
+}
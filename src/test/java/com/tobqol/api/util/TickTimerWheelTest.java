@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.api.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TickTimerWheelTest
+{
+	private final List<String> fired = new ArrayList<>();
+	private TickTimerWheel<String> wheel;
+
+	@Before
+	public void before()
+	{
+		fired.clear();
+		wheel = new TickTimerWheel<>(fired::add);
+	}
+
+	@Test
+	public void expiresOnTheDeadlineTick()
+	{
+		wheel.schedule("a", 100, 3);
+
+		// Read after the GameTick of 102, once the client has moved on to 103
+		advanceTo(100, 102);
+		assertTrue(wheel.contains("a"));
+		assertEquals(0, wheel.remaining("a", 103));
+		assertTrue(fired.isEmpty());
+
+		wheel.advance(103);
+		assertFalse(wheel.contains("a"));
+		assertEquals(-1, wheel.remaining("a", 103));
+		assertEquals(list("a"), fired);
+	}
+
+	@Test
+	public void remainingCountsDown()
+	{
+		wheel.schedule("a", 10, 5);
+
+		assertEquals(5, wheel.remaining("a", 10));
+		assertEquals(2, wheel.remaining("a", 13));
+		assertEquals(0, wheel.remaining("a", 20));
+		assertEquals(-1, wheel.remaining("b", 10));
+	}
+
+	@Test
+	public void rescheduleMovesTheDeadline()
+	{
+		wheel.schedule("a", 0, 5);
+		wheel.advance(0);
+		wheel.schedule("a", 2, 10);
+
+		advanceTo(1, 11);
+		assertTrue(fired.isEmpty());
+		assertEquals(0, wheel.remaining("a", 12));
+
+		wheel.advance(12);
+		assertEquals(list("a"), fired);
+		assertTrue(wheel.isEmpty());
+	}
+
+	@Test
+	public void rescheduleToAnEarlierDeadline()
+	{
+		wheel.schedule("a", 0, 20);
+		wheel.schedule("a", 0, 2);
+
+		advanceTo(0, 2);
+		assertEquals(list("a"), fired);
+
+		advanceTo(3, 30);
+		assertEquals(list("a"), fired);
+	}
+
+	@Test
+	public void cancelDoesNotFire()
+	{
+		wheel.schedule("a", 0, 2);
+		wheel.schedule("b", 0, 2);
+
+		assertTrue(wheel.remove("a"));
+		assertFalse(wheel.remove("a"));
+		assertEquals(1, wheel.size());
+
+		advanceTo(0, 10);
+		assertEquals(list("b"), fired);
+	}
+
+	@Test
+	public void rescheduleAfterCancelFiresOnce()
+	{
+		wheel.schedule("a", 0, 4);
+		wheel.remove("a");
+		wheel.schedule("a", 0, 4);
+
+		advanceTo(0, 200);
+		assertEquals(list("a"), fired);
+	}
+
+	@Test
+	public void deadlineExactlyOneTurnAwayWaitsForItsTurn()
+	{
+		wheel.schedule("a", 0, 0);
+		wheel.schedule("b", 0, 64);
+
+		// Both land in the same slot, only the due one leaves on the first pass
+		wheel.advance(0);
+		assertEquals(list("a"), fired);
+		assertEquals(64, wheel.remaining("b", 0));
+
+		advanceTo(1, 63);
+		assertEquals(list("a"), fired);
+
+		wheel.advance(64);
+		assertEquals(list("a", "b"), fired);
+	}
+
+	@Test
+	public void rescheduleOneTurnLaterKeepsOneEntry()
+	{
+		wheel.schedule("a", 0, 5);
+		wheel.schedule("a", 0, 69);
+
+		advanceTo(0, 68);
+		assertTrue(fired.isEmpty());
+		assertEquals(1, wheel.size());
+
+		wheel.advance(69);
+		assertEquals(list("a"), fired);
+	}
+
+	@Test
+	public void deadlinesSeveralTurnsAway()
+	{
+		wheel.schedule("a", 0, 200);
+
+		advanceTo(0, 199);
+		assertTrue(fired.isEmpty());
+
+		wheel.advance(200);
+		assertEquals(list("a"), fired);
+	}
+
+	@Test
+	public void catchesUpOnSkippedTicks()
+	{
+		wheel.schedule("a", 0, 3);
+		wheel.schedule("b", 0, 10);
+		wheel.schedule("c", 0, 50);
+		wheel.advance(0);
+
+		wheel.advance(20);
+		assertEquals(2, fired.size());
+		assertTrue(fired.contains("a") && fired.contains("b"));
+
+		// More than a full turn skipped, every slot is still visited
+		wheel.advance(500);
+		assertEquals(3, fired.size());
+		assertTrue(wheel.isEmpty());
+	}
+
+	@Test
+	public void callbackMayScheduleAndCancel()
+	{
+		wheel = new TickTimerWheel<>(key ->
+		{
+			fired.add(key);
+
+			if (key.equals("a"))
+			{
+				wheel.schedule("a2", 1, 0);
+				wheel.remove("b");
+			}
+		});
+
+		wheel.schedule("a", 0, 0);
+		wheel.schedule("b", 0, 0);
+
+		wheel.advance(0);
+
+		// "b" expired in the same sweep as "a", so it fired before the callback could cancel it
+		assertTrue(fired.contains("a"));
+		assertTrue(fired.contains("b"));
+		assertTrue(wheel.contains("a2"));
+
+		wheel.advance(1);
+		assertTrue(fired.contains("a2"));
+		assertTrue(wheel.isEmpty());
+	}
+
+	@Test
+	public void deadlineAlreadySweptFiresOnTheNextTick()
+	{
+		wheel.advance(5);
+		wheel.schedule("a", 5, 0);
+		assertTrue(fired.isEmpty());
+
+		wheel.advance(6);
+		assertEquals(list("a"), fired);
+	}
+
+	// Nylocas waves and Xarpus exhumeds are scheduled from spawn events, big Nylocas splits from inside GameTick
+	@Test
+	public void countdownMatchesTheDecrementedMaps()
+	{
+		Map<String, Integer> baseline = new HashMap<>();
+		wheel = new TickTimerWheel<>();
+
+		int[] spawnTicks = { 3, 10, 10, 40, 41, 100 };
+		int[] spawnLengths = { 0, 1, 12, 52, 3, 5 };
+
+		for (int tick = 0; tick < 400; tick++)
+		{
+			// Spawn events, before the GameTick of the same tick count
+			for (int i = 0; i < spawnTicks.length; i++)
+			{
+				if (spawnTicks[i] == tick)
+				{
+					String key = "spawn" + i;
+					baseline.put(key, spawnLengths[i]);
+					wheel.schedule(key, tick, spawnLengths[i]);
+					assertEquals(key, (int) baseline.get(key), wheel.remaining(key, tick));
+				}
+			}
+
+			// GameTick, the maps were topped up before they were counted down
+			if (tick == 20 || tick == 50)
+			{
+				baseline.putIfAbsent("split" + tick, 0xFF);
+				wheel.scheduleIfAbsent("split" + tick, tick, 0xFF);
+			}
+
+			baseline.values().removeIf(v -> v <= 0);
+			baseline.replaceAll((k, v) -> v - 1);
+			wheel.advance(tick);
+
+			// Overlays drawn after the client has bumped its tick count
+			int frame = tick + 1;
+			assertEquals("size at " + frame, baseline.size(), wheel.size());
+			baseline.forEach((key, value) -> assertEquals(key + " at " + frame, (int) value, wheel.remaining(key, frame)));
+		}
+
+		assertTrue(wheel.isEmpty());
+	}
+
+	@Test
+	public void scheduleIfAbsentKeepsTheFirstDeadline()
+	{
+		wheel.schedule("a", 0, 3);
+		wheel.scheduleIfAbsent("a", 0, 30);
+
+		assertEquals(3, wheel.remaining("a", 0));
+	}
+
+	@Test
+	public void forEachReportsRemainingTicks()
+	{
+		wheel.schedule("a", 0, 3);
+		wheel.schedule("b", 0, 8);
+
+		Map<String, Integer> seen = new HashMap<>();
+		wheel.forEach(2, seen::put);
+
+		assertEquals(2, seen.size());
+		assertEquals(1, (int) seen.get("a"));
+		assertEquals(6, (int) seen.get("b"));
+	}
+
+	@Test
+	public void clearDropsEverything()
+	{
+		wheel.schedule("a", 0, 3);
+		wheel.schedule("b", 0, 70);
+		wheel.clear();
+
+		assertTrue(wheel.isEmpty());
+
+		advanceTo(0, 200);
+		assertTrue(fired.isEmpty());
+
+		wheel.schedule("a", 200, 1);
+		advanceTo(201, 202);
+		assertEquals(list("a"), fired);
+	}
+
+	private void advanceTo(int from, int to)
+	{
+		for (int tick = from; tick <= to; tick++)
+		{
+			wheel.advance(tick);
+		}
+	}
+
+	private static List<String> list(String... keys)
+	{
+		List<String> list = new ArrayList<>();
+
+		for (String key : keys)
+		{
+			list.add(key);
+		}
+
+		return list;
+	}
+}
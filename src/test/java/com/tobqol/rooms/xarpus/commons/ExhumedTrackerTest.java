@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.rooms.xarpus.commons;
+
+import net.runelite.api.GroundObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pins the exhumed countdown to what the old map of 12 decremented on every GameTick showed.
+ */
+public class ExhumedTrackerTest
+{
+	private static final int SPAWN_TICK = 1000;
+
+	@Test
+	public void countsDownLikeTheDecrementedMap()
+	{
+		ExhumedTracker tracker = new ExhumedTracker();
+		GroundObject exhumed = exhumed(1L);
+
+		// Spawned from the scene before the GameTick of the same tick count
+		assertTrue(tracker.track(exhumed, SPAWN_TICK));
+		assertEquals(12, remaining(tracker, SPAWN_TICK));
+
+		// The client moves on a tick after every GameTick, overlays read the count after it
+		for (int tick = SPAWN_TICK; tick < SPAWN_TICK + 12; tick++)
+		{
+			tracker.tick(tick);
+			assertFalse(tracker.isEmpty());
+			assertEquals(SPAWN_TICK + 11 - tick, remaining(tracker, tick + 1));
+		}
+
+		tracker.tick(SPAWN_TICK + 12);
+		assertTrue(tracker.isEmpty());
+	}
+
+	@Test
+	public void sameTileIsTrackedOnce()
+	{
+		ExhumedTracker tracker = new ExhumedTracker();
+
+		assertTrue(tracker.track(exhumed(1L), SPAWN_TICK));
+		assertFalse(tracker.track(exhumed(1L), SPAWN_TICK + 2));
+		assertEquals(12, remaining(tracker, SPAWN_TICK));
+	}
+
+	@Test
+	public void otherObjectsAreIgnored()
+	{
+		ExhumedTracker tracker = new ExhumedTracker();
+		GroundObject other = mock(GroundObject.class);
+		when(other.getId()).thenReturn(XarpusTable.EXHUMED_GROUND_OBJ + 1);
+
+		assertFalse(tracker.track(other, SPAWN_TICK));
+		assertFalse(tracker.track(null, SPAWN_TICK));
+		assertTrue(tracker.isEmpty());
+	}
+
+	private static GroundObject exhumed(long hash)
+	{
+		GroundObject obj = mock(GroundObject.class);
+		when(obj.getId()).thenReturn(XarpusTable.EXHUMED_GROUND_OBJ);
+		when(obj.getHash()).thenReturn(hash);
+		return obj;
+	}
+
+	private static int remaining(ExhumedTracker tracker, int tick)
+	{
+		List<Integer> ticks = new ArrayList<>();
+		tracker.forEachExhumed(tick, (obj, left) -> ticks.add(left));
+		assertEquals(1, ticks.size());
+		return ticks.get(0);
+	}
+}
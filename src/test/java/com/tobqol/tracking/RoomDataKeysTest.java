@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.tracking;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RoomDataKeysTest
+{
+    @Test
+    public void internIsStable()
+    {
+        int id = RoomDataKeys.intern("Interned Split");
+
+        assertEquals(id, RoomDataKeys.intern("Interned Split"));
+        assertEquals("Interned Split", RoomDataKeys.name(id));
+        assertNotEquals(id, RoomDataKeys.intern("Another Split"));
+    }
+
+    @Test
+    public void idsAreDense()
+    {
+        int id = RoomDataKeys.intern("Dense Split");
+        int count = RoomDataKeys.count();
+
+        assertTrue(id >= 0 && id < count);
+        assertEquals(count, RoomDataKeys.intern("Next Dense Split"));
+        assertEquals(count + 1, RoomDataKeys.count());
+    }
+
+    @Test
+    public void missingNamesAreNone()
+    {
+        assertEquals(RoomDataKeys.NONE, RoomDataKeys.intern(null));
+        assertEquals(RoomDataKeys.NONE, RoomDataKeys.intern(""));
+        assertEquals("", RoomDataKeys.name(RoomDataKeys.NONE));
+        assertEquals("", RoomDataKeys.name(RoomDataKeys.count()));
+    }
+
+    @Test
+    public void constantsKeepTheirSplitNames()
+    {
+        int[] ids = {
+            RoomDataKeys.STARTING_TICK, RoomDataKeys.ROOM, RoomDataKeys.MAIDEN_70S, RoomDataKeys.MAIDEN_50S,
+            RoomDataKeys.MAIDEN_30S, RoomDataKeys.NYLOCAS_WAVES, RoomDataKeys.NYLOCAS_CLEANUP, RoomDataKeys.NYLOCAS_BOSS,
+            RoomDataKeys.SOTETSEG_66, RoomDataKeys.SOTETSEG_33, RoomDataKeys.XARPUS_EXHUMEDS, RoomDataKeys.XARPUS_SCREECH,
+            RoomDataKeys.VERZIK_PHASE_1, RoomDataKeys.VERZIK_REDS, RoomDataKeys.VERZIK_PHASE_2
+        };
+        String[] names = {
+            "Starting Tick", "Room", "70s", "50s", "30s", "Waves", "Cleanup", "Boss", "66%", "33%", "Exhumeds",
+            "Screech", "P1", "Reds", "P2"
+        };
+
+        Set<Integer> unique = new HashSet<>();
+
+        for (int i = 0; i < ids.length; i++)
+        {
+            assertEquals(names[i], RoomDataKeys.name(ids[i]));
+            assertEquals(ids[i], RoomDataKeys.intern(names[i]));
+            assertTrue(unique.add(ids[i]));
+        }
+    }
+
+    @Test
+    public void numberedSplitsInternTheirNames()
+    {
+        // Past the first growth of the caches
+        for (int n = 40; n >= 1; n--)
+        {
+            assertEquals(RoomDataKeys.intern("Down " + n), RoomDataKeys.down(n));
+            assertEquals(RoomDataKeys.intern("Demi " + n), RoomDataKeys.demi(n));
+        }
+
+        assertEquals("Down 3", RoomDataKeys.name(RoomDataKeys.down(3)));
+        assertEquals("Demi 2", RoomDataKeys.name(RoomDataKeys.demi(2)));
+    }
+
+    @Test
+    public void numberedSplitsStartAtOne()
+    {
+        assertEquals(RoomDataKeys.NONE, RoomDataKeys.down(0));
+        assertEquals(RoomDataKeys.NONE, RoomDataKeys.down(-1));
+        assertEquals(RoomDataKeys.NONE, RoomDataKeys.demi(0));
+        assertEquals(RoomDataKeys.NONE, RoomDataKeys.demi(-1));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022, Damen <gh: damencs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tobqol.tracking;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RoomInfoUtilTest
+{
+    @Test
+    public void formatTimeMatchesStringFormat()
+    {
+        // Past an hour of ticks so the uncached path is covered too
+        for (int ticks = 0; ticks < 7000; ticks++)
+        {
+            assertEquals(String.valueOf(ticks), format(ticks), RoomInfoUtil.formatTime(ticks));
+        }
+    }
+
+    @Test
+    public void formatDiffMatchesStringFormat()
+    {
+        for (int previous = 0; previous < 200; previous += 7)
+        {
+            for (int current = previous; current < previous + 6500; current += 13)
+            {
+                assertEquals(" (" + format(current - previous) + ")", RoomInfoUtil.formatTime(current, previous));
+            }
+        }
+    }
+
+    @Test
+    public void formatTimeIsCached()
+    {
+        assertSame(RoomInfoUtil.formatTime(123), RoomInfoUtil.formatTime(123));
+        assertSame(RoomInfoUtil.formatTime(150, 50), RoomInfoUtil.formatTime(100, 0));
+    }
+
+    @Test
+    public void knownTimes()
+    {
+        assertEquals("0:00.0", RoomInfoUtil.formatTime(0));
+        assertEquals("0:00.6", RoomInfoUtil.formatTime(1));
+        assertEquals("1:00.0", RoomInfoUtil.formatTime(100));
+        assertEquals("1:40.2", RoomInfoUtil.formatTime(167));
+        assertEquals("0:00.0", RoomInfoUtil.formatTime(6000));
+        assertEquals(" (0:03.0)", RoomInfoUtil.formatTime(15, 10));
+    }
+
+    @Test
+    public void negativeTimesAreSigned()
+    {
+        assertEquals("-0:03.0", RoomInfoUtil.formatTime(-5));
+        assertEquals(" (-0:03.0)", RoomInfoUtil.formatTime(10, 15));
+    }
+
+    @Test
+    public void appendTimeAppends()
+    {
+        StringBuilder sb = new StringBuilder("Room - ");
+
+        RoomInfoUtil.appendTime(167, sb);
+        RoomInfoUtil.appendTime(167, 100, sb);
+
+        assertEquals("Room - 1:40.2 (0:40.2)", sb.toString());
+    }
+
+    @Test
+    public void formatSplitsDiffsAgainstThePreviousSplit()
+    {
+        String splits = RoomInfoUtil.formatSplits(new String[]{"70s", "50s", "30s"}, new int[]{50, 80, 115});
+
+        assertEquals("70s - 0:30.0</br>50s - 0:48.0 (0:18.0)</br>30s - 1:09.0 (0:21.0)", splits);
+    }
+
+    // The String.format version formatTime replaced
+    private static String format(int ticks)
+    {
+        int millis = ticks * RoomInfoUtil.TICK_LENGTH;
+        String hundredths = String.valueOf(millis % 1000).substring(0, 1);
+
+        return String.format("%d:%02d.%s",
+                TimeUnit.MILLISECONDS.toMinutes(millis) % TimeUnit.HOURS.toMinutes(1),
+                TimeUnit.MILLISECONDS.toSeconds(millis) % TimeUnit.MINUTES.toSeconds(1),
+                hundredths);
+    }
+}